@@ -2,9 +2,14 @@ package com.nimvb.app.service;
 
 import com.nimvb.app.database.model.Board;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.model.BoardStatistics;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.Page;
 import lombok.NonNull;
 
 import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BoardService {
 
@@ -22,12 +27,21 @@ public interface BoardService {
      * Find the board which has an id equal to the <code>id</code>
      *
      * @param id the id of the target board
-     * @return The target board which is wrapped or cloned
+     * @return The target board which is wrapped in a read-only view
      * @throws EntityNotFoundException if the target board with the <code>id</code> is not found
      * @throws IllegalArgumentException if the <code>id</code> is null or empty
      */
     Board find(String id) throws EntityNotFoundException,IllegalArgumentException;
 
+    /**
+     * Same as {@link #find(String)}, but a missing board is an empty result rather than an exception
+     *
+     * @param id the id of the target board
+     * @return the target board which is wrapped in a read-only view, or empty if it is not found
+     * @throws IllegalArgumentException if the <code>id</code> is null or empty
+     */
+    Optional<Board> lookup(String id) throws IllegalArgumentException;
+
     /**
      * Collection of all boards which are wrapped or cloned
      *
@@ -36,7 +50,31 @@ public interface BoardService {
     Collection<Board> all();
 
     /**
-     * Delete the entity
+     * A page of boards ordered by their id
+     *
+     * @param cursor the continuation token of the previous page, or <code>null</code> for the first page
+     * @param size maximum number of boards in the page
+     * @return the page which contains at most <code>size</code> boards which are wrapped or cloned
+     * @throws IllegalArgumentException if <code>size</code> is not positive or the <code>cursor</code> is malformed
+     */
+    Page<Board> page(String cursor, int size) throws IllegalArgumentException;
+
+    /**
+     * Lazy stream of all boards which are wrapped or cloned
+     *
+     * @return a stream over all the boards
+     */
+    Stream<Board> stream();
+
+    /**
+     * Summaries of all boards, which carry the number of the todos of each board instead of the todos
+     *
+     * @return a collection contains the summaries of all the boards
+     */
+    Collection<BoardSummary> summaries();
+
+    /**
+     * Delete the entity along with all of its todos and their items
      *
      * @param id the id of the target entity
      * @throws IllegalArgumentException if the <code>id</code> is null or empty
@@ -44,4 +82,24 @@ public interface BoardService {
      */
     void delete(String id) throws IllegalArgumentException,EntityNotFoundException;
 
+    /**
+     * Counts of the todos and items of the board, which are maintained as the todos and items are created and deleted
+     *
+     * @param id the id of the target board
+     * @return the statistics of the board
+     * @throws IllegalArgumentException if the <code>id</code> is null or empty
+     * @throws EntityNotFoundException if the board which has corresponding <code>id</code> is not found
+     */
+    BoardStatistics statistics(String id) throws IllegalArgumentException,EntityNotFoundException;
+
+    /**
+     * Compute the counts of the board from all of its todos and items and replace the maintained ones
+     *
+     * @param id the id of the target board
+     * @return the recomputed statistics of the board
+     * @throws IllegalArgumentException if the <code>id</code> is null or empty
+     * @throws EntityNotFoundException if the board which has corresponding <code>id</code> is not found
+     */
+    BoardStatistics recompute(String id) throws IllegalArgumentException,EntityNotFoundException;
+
 }
@@ -1,37 +1,70 @@
 package com.nimvb.app.service;
 
 import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Todo;
 import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
 import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.concurrent.ServiceFlights;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.index.BoardStatisticsIndex;
+import com.nimvb.app.service.model.BoardStatistics;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.EntityViews;
+import com.nimvb.app.service.model.Page;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BoardServiceImpl implements BoardService{
     private final BoardRepository repository;
     private final TodoRepository todoRepository;
+    private final ItemRepository itemRepository;
+    private final EntityListeners listeners;
+    private final BoardStatisticsIndex statistics;
+    private final ServiceFlights flights;
+    private final ServiceLocks locks;
 
     @Override
     public Board create(String name, String color) {
         Assert.hasText(name,"name is empty");
         Assert.hasText(color,"color is empty");
-        var board = new Board(){{
-            setName(name);
-            setColor(color);
-        }};
-        return repository.save(board);
+        final Board board = new Board();
+        board.setName(name);
+        board.setColor(color);
+        final UnitOfWork work = new UnitOfWork();
+        final Supplier<Board> result = work.write(() -> repository.save(board), created -> repository.deleteById(created.getId()));
+        work.write(() -> listeners.boardCreated(result.get()), () -> {});
+        work.flush();
+        return result.get();
     }
 
     @Override
     public Board find(String id) throws EntityNotFoundException,IllegalArgumentException {
+        return lookup(id).orElseThrow(() -> EntityNotFoundException.board(id));
+    }
+
+    @Override
+    public Optional<Board> lookup(String id) throws IllegalArgumentException {
         Assert.hasText(id,"id is empty");
-        return repository.findById(id).orElseThrow(EntityNotFoundException::new);
+        // concurrent lookups of the same board share one read, the view is read-only so the waiting callers share it too
+        return flights.getBoards().get(id, () -> repository.findById(id).map(EntityViews::of), UnaryOperator.identity());
     }
 
     @Override
@@ -39,11 +72,68 @@ public class BoardServiceImpl implements BoardService{
         return repository.findAll();
     }
 
+    @Override
+    public Page<Board> page(String cursor, int size) {
+        return Keyset.page(repository.findAll().iterator(), Board::getId, Keyset.decode(cursor), size, Function.identity(), Function.identity());
+    }
+
+    @Override
+    public Stream<Board> stream() {
+        return repository.findAll().stream();
+    }
+
+    @Override
+    public Collection<BoardSummary> summaries() {
+        // the index is fed by the listeners and by the warm-up, so the boards are not copied along with their todos
+        return statistics.summaries();
+    }
+
     @Override
     public void delete(String id) {
+        /*
+          1. lock the board, then all of its todos, so no todo or item is added to it meanwhile
+          2. remove the board, it is restored if a later write fails
+          3. remove the todos, the removed ones are restored if a later write fails
+          4. report the deletions, the board and the todos are restored if the journal cannot record them
+          5. remove the items of the todos once the board is gone, nothing refers to them anymore
+         */
+        Assert.hasText(id,"id is empty");
+        locks.getBoards().withLock(id, () -> {
+            final Board board = repository.fetchById(id).orElseThrow(() -> EntityNotFoundException.board(id));
+            final List<Todo> todos = new ArrayList<>(board.getTodos());
+            final List<Integer> todoIds = todos.stream().map(Todo::getId).collect(Collectors.toList());
+            locks.getTodos().withLocks(todoIds, () -> {
+                final UnitOfWork work = new UnitOfWork();
+                work.write(() -> repository.deleteById(id), () -> repository.save(board));
+                for (Todo todo : todos) {
+                    work.write(() -> todoRepository.deleteById(todo.getId()), () -> todoRepository.save(todo));
+                }
+                work.write(() -> {
+                    for (Todo todo : todos) {
+                        Cascade.todoDeleted(listeners, id, todo, todo.getItems());
+                    }
+                    listeners.boardDeleted(board);
+                }, () -> {});
+                work.flush();
+                for (Todo todo : todos) {
+                    Cascade.deleteItems(itemRepository, todo.getItems());
+                }
+            });
+        });
+    }
+
+    @Override
+    public BoardStatistics statistics(String id) throws EntityNotFoundException, IllegalArgumentException {
+        Assert.hasText(id,"id is empty");
+        // a board which was not seen by the listeners is counted once from the repository
+        return statistics.statistics(id, Instant.now().toEpochMilli()).orElseGet(() -> recompute(id));
+    }
+
+    @Override
+    public BoardStatistics recompute(String id) throws EntityNotFoundException, IllegalArgumentException {
         Assert.hasText(id,"id is empty");
-        repository.findById(id).orElseThrow(EntityNotFoundException::new);
-        repository.deleteById(id);
+        final Board board = repository.findById(id).orElseThrow(() -> EntityNotFoundException.board(id));
+        return statistics.reset(board, Instant.now().toEpochMilli());
     }
 }
 
@@ -0,0 +1,33 @@
+package com.nimvb.app.service;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.ItemRepository;
+import com.nimvb.app.service.event.EntityListeners;
+
+import java.util.Collection;
+
+/**
+ * Cascading removal of child entities.
+ * <p>
+ * The children are captured before anything is removed so that the deletes are issued in one pass once the parent
+ * has been detached, instead of being interleaved with the traversal of the parent.
+ */
+final class Cascade {
+
+    private Cascade() {
+    }
+
+    static void deleteItems(ItemRepository repository, Collection<Item> items) {
+        for (Item item : items) {
+            repository.deleteById(item.getId());
+        }
+    }
+
+    static void todoDeleted(EntityListeners listeners, String boardId, Todo todo, Collection<Item> items) {
+        for (Item item : items) {
+            listeners.itemDeleted(todo.getId(), item);
+        }
+        listeners.todoDeleted(boardId, todo);
+    }
+}
@@ -2,17 +2,55 @@ package com.nimvb.app.service;
 
 import com.nimvb.app.database.model.Item;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.exception.InvalidTimestampException;
+import com.nimvb.app.service.model.ItemPatch;
+import com.nimvb.app.service.model.ItemSpec;
+import com.nimvb.app.service.model.ItemSummary;
+import com.nimvb.app.service.model.Page;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemService {
 
     Item create(Integer todoId, String title, String description, Instant deadline);
 
+    List<Item> createAll(Integer todoId, List<ItemSpec> specs);
+
     Item find(Integer id) throws EntityNotFoundException;
 
+    Optional<Item> lookup(Integer id);
+
     Collection<Item> all();
 
+    Page<Item> page(String cursor, int size);
+
+    Stream<Item> stream();
+
+    Collection<ItemSummary> summaries(Integer todoId) throws EntityNotFoundException;
+
+    Item update(Integer id, String title, String description, Instant deadline) throws EntityNotFoundException, InvalidTimestampException;
+
+    Item complete(Integer id) throws EntityNotFoundException;
+
+    Item patch(Integer id, ItemPatch patch) throws EntityNotFoundException, InvalidTimestampException;
+
+    List<Item> completeAll(Integer todoId) throws EntityNotFoundException;
+
     void delete(Integer todoId,Integer id);
+
+    void delete(Integer id) throws EntityNotFoundException;
+
+    Page<Item> dueBetween(Instant from, Instant to, String cursor, int size);
+
+    Page<Item> overdue(Instant now, String cursor, int size);
+
+    List<Item> soonest(Instant now, int count);
+
+    int countOverdue(Instant now);
+
+    Integer findTodoId(Integer id) throws EntityNotFoundException;
 }
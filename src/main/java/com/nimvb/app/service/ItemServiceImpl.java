@@ -4,53 +4,134 @@ import com.nimvb.app.database.model.Item;
 import com.nimvb.app.database.model.Todo;
 import com.nimvb.app.repository.ItemRepository;
 import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.exception.EntityType;
 import com.nimvb.app.service.exception.InvalidTimestampException;
+import com.nimvb.app.service.index.DeadlineIndex;
+import com.nimvb.app.service.index.ItemColumns;
+import com.nimvb.app.service.index.ParentIndex;
+import com.nimvb.app.service.model.EntityCopies;
+import com.nimvb.app.service.model.EntityViews;
+import com.nimvb.app.service.model.ItemPatch;
+import com.nimvb.app.service.model.ItemSpec;
+import com.nimvb.app.service.model.ItemSummary;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.persistence.ParentWriter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService{
     private final TodoRepository todoRepository;
     private final ItemRepository itemRepository;
+    private final ParentIndex parentIndex;
+    private final DeadlineIndex deadlineIndex;
+    private final ItemColumns columns;
+    private final EntityListeners listeners;
+    private final ServiceLocks locks;
+    private final ParentWriter parents;
+    private final ParallelListing listing;
     @Override
     public Item create(@NonNull Integer todoId, @NonNull String title, @NonNull String description, @NonNull Instant deadline) {
         /*
           1. find the related todo
           2. create a new item and persist it
           3. add the created item to the corresponding todo
-          4. persist the todo
+          4. persist the todo, or stage it for the write-behind, or leave it to the journal, the created item is removed if that fails
+          5. report the item, the writes are undone if the journal cannot record it
          */
         final Instant start = Instant.now();
         if(deadline.isBefore(start)){
-            throw new InvalidTimestampException();
+            throw new InvalidTimestampException(EntityType.ITEM, null, deadline, start);
         }
-        final Todo todo = todoRepository.fetchById(todoId).orElseThrow(EntityNotFoundException::new);
-        final Item item = itemRepository.persist(new Item() {{
-            setTitle(title);
-            setDescription(description);
-            setCreationTimestamp(start.toEpochMilli());
-            setDeadlineTimestamp(deadline.toEpochMilli());
-            setCompleted(false);
-        }});
-        todo.getItems().add(item);
-        return new Item() {{
-            setId(item.getId());
-            setTitle(item.getTitle());
-            setDescription(item.getDescription());
-            setCreationTimestamp(item.getCreationTimestamp());
-            setDeadlineTimestamp(item.getDeadlineTimestamp());
-        }};
+        final Item item = locks.getTodos().withLock(todoId, () -> {
+            final Todo todo = todoRepository.fetchById(todoId).orElseThrow(() -> EntityNotFoundException.todo(todoId));
+            final UnitOfWork work = new UnitOfWork();
+            final Supplier<Item> persisted = work.write(() -> itemRepository.persist(newItem(title, description, start, deadline)), created -> itemRepository.deleteById(created.getId()));
+            work.write(() -> todo.getItems().add(persisted.get()), () -> todo.getItems().remove(persisted.get()));
+            work.write(() -> parents.stage(todo), () -> {});
+            work.write(() -> listeners.itemCreated(todoId, persisted.get()), () -> {});
+            work.flush();
+            return persisted.get();
+        });
+        parents.awaitCapacity();
+        return EntityCopies.copy(item);
+    }
+
+    @Override
+    public List<Item> createAll(@NonNull Integer todoId, @NonNull List<ItemSpec> specs) {
+        /*
+          1. validate all the deadlines before touching the repositories
+          2. find the related todo once
+          3. create the new items and persist them
+          4. add all the created items to the corresponding todo at once and persist it
+         */
+        final Instant start = Instant.now();
+        for (ItemSpec spec : specs) {
+            if (spec.getDeadline().isBefore(start)) {
+                throw new InvalidTimestampException(EntityType.ITEM, null, spec.getDeadline(), start);
+            }
+        }
+        final List<Item> persisted = locks.getTodos().withLock(todoId, () -> {
+            final Todo todo = todoRepository.fetchById(todoId).orElseThrow(() -> EntityNotFoundException.todo(todoId));
+            final UnitOfWork work = new UnitOfWork();
+            final List<Supplier<Item>> writes = new ArrayList<>(specs.size());
+            for (ItemSpec spec : specs) {
+                writes.add(work.write(() -> itemRepository.persist(newItem(spec.getTitle(), spec.getDescription(), start, spec.getDeadline())), created -> itemRepository.deleteById(created.getId())));
+            }
+            final List<Item> created = new ArrayList<>(specs.size());
+            work.write(() -> {
+                for (Supplier<Item> write : writes) {
+                    created.add(write.get());
+                }
+                todo.getItems().addAll(created);
+            }, () -> todo.getItems().subList(todo.getItems().size() - created.size(), todo.getItems().size()).clear());
+            work.write(() -> parents.stage(todo), () -> {});
+            work.write(() -> {
+                for (Item item : created) {
+                    listeners.itemCreated(todoId, item);
+                }
+            }, () -> {});
+            work.flush();
+            return created;
+        });
+        parents.awaitCapacity();
+        final List<Item> result = new ArrayList<>(persisted.size());
+        for (Item item : persisted) {
+            result.add(EntityCopies.copy(item));
+        }
+        return result;
     }
 
     @Override
     public Item find(Integer id) throws EntityNotFoundException {
-        return itemRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+        return lookup(id).orElseThrow(() -> EntityNotFoundException.item(id));
+    }
+
+    @Override
+    public Optional<Item> lookup(Integer id) {
+        Assert.notNull(id, "id is null");
+        final int todoId = parentIndex.todoOf(id, Integer.MIN_VALUE);
+        if (todoId == Integer.MIN_VALUE) {
+            return Optional.empty();
+        }
+        // the live item is wrapped, so a read allocates the view only
+        return locks.getTodos().withLock(todoId, () -> itemRepository.fetchById(id)).map(EntityViews::of);
     }
 
     @Override
@@ -58,19 +139,248 @@ public class ItemServiceImpl implements ItemService{
         return itemRepository.findAll();
     }
 
+    @Override
+    public Page<Item> page(String cursor, int size) {
+        return Keyset.page(itemRepository.findAll().iterator(), Item::getId, Keyset.decodeInteger(cursor), size, Function.identity(), String::valueOf);
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        return listing.stream(itemRepository.findAll());
+    }
+
+    @Override
+    public Collection<ItemSummary> summaries(@NonNull Integer todoId) throws EntityNotFoundException {
+        return locks.getTodos().withLock(todoId, () -> {
+            final Todo todo = todoRepository.fetchById(todoId).orElseThrow(() -> EntityNotFoundException.todo(todoId));
+            final List<ItemSummary> result = new ArrayList<>(todo.getItems().size());
+            for (Item item : todo.getItems()) {
+                result.add(ItemSummary.of(item));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public Item update(@NonNull Integer id, @NonNull String title, @NonNull String description, @NonNull Instant deadline) {
+        return patch(id, new ItemPatch(title, description, deadline, null));
+    }
+
+    @Override
+    public Item complete(@NonNull Integer id) {
+        return patch(id, ItemPatch.completed(true));
+    }
+
+    @Override
+    public Item patch(@NonNull Integer id, @NonNull ItemPatch patch) {
+        /*
+          1. find the related todo and lock it
+          2. change the fields of the item which the patch carries, in the todo as well
+          3. persist the item, the parent is not rewritten since its items are the same entities
+          4. the fields are restored if that fails
+         */
+        final Instant start = Instant.now();
+        if (patch.getDeadline() != null && patch.getDeadline().isBefore(start)) {
+            throw new InvalidTimestampException(EntityType.ITEM, id, patch.getDeadline(), start);
+        }
+        final Integer todoId = findTodoId(id);
+        return locks.getTodos().withLock(todoId, () -> {
+            final Todo todo = todoRepository.fetchById(todoId).orElseThrow(() -> EntityNotFoundException.todo(todoId));
+            final Item target = itemRepository.fetchById(id).orElseThrow(() -> EntityNotFoundException.item(id));
+            final Item before = EntityCopies.copy(target);
+            if (patch.isEmpty()) {
+                return before;
+            }
+            final UnitOfWork work = new UnitOfWork();
+            work.write(() -> {
+                apply(target, patch);
+                entryOf(todo, target).ifPresent(entry -> apply(entry, patch));
+            }, () -> {
+                assign(target, before);
+                entryOf(todo, target).ifPresent(entry -> assign(entry, before));
+            });
+            work.write(() -> itemRepository.persist(target), () -> {});
+            final Supplier<Item> updated = work.write(() -> {
+                final Item copy = EntityCopies.copy(target);
+                listeners.itemUpdated(todoId, before, copy);
+                return copy;
+            }, ignored -> {});
+            work.flush();
+            return updated.get();
+        });
+    }
+
+    @Override
+    public List<Item> completeAll(@NonNull Integer todoId) {
+        /*
+          1. lock the todo
+          2. complete and persist every item of the todo which is not completed yet, one write per item
+          3. the items which are already written are restored if one of the writes fails
+         */
+        return locks.getTodos().withLock(todoId, () -> {
+            final Todo todo = todoRepository.fetchById(todoId).orElseThrow(() -> EntityNotFoundException.todo(todoId));
+            final UnitOfWork work = new UnitOfWork();
+            final List<Item> targets = new ArrayList<>();
+            for (Item item : todo.getItems()) {
+                if (item.isCompleted()) {
+                    continue;
+                }
+                targets.add(item);
+                work.write(() -> item.setCompleted(true), () -> item.setCompleted(false));
+                work.write(() -> itemRepository.persist(item), () -> {
+                    item.setCompleted(false);
+                    itemRepository.persist(item);
+                });
+            }
+            final List<Item> result = new ArrayList<>(targets.size());
+            work.write(() -> {
+                for (Item item : targets) {
+                    final Item updated = EntityCopies.copy(item);
+                    final Item before = EntityCopies.copy(item);
+                    before.setCompleted(false);
+                    listeners.itemUpdated(todoId, before, updated);
+                    result.add(updated);
+                }
+            }, () -> {});
+            work.flush();
+            return result;
+        });
+    }
+
     @Override
     public void delete(Integer todoId, Integer id) {
         /*
          * 1. fetch the parent(todo);
-         * 2. fetch the item
+         * 2. fetch the item, it must belong to the parent
          * 3. remove the item from the parent
          * 4. persist the parent(todo)
-         * 5. delete the item
+         * 5. delete the item, the parent is restored if that fails
+         * 6. report the deletion, the item and the parent are restored if the journal cannot record it
          */
-        final Todo todo = todoRepository.fetchById(todoId).orElseThrow(EntityNotFoundException::new);
-        final Item item = itemRepository.fetchById(id).orElseThrow(EntityNotFoundException::new);
-        todo.getItems().remove(item);
-        todoRepository.persist(todo);
-        itemRepository.deleteById(item.getId());
+        locks.getTodos().withLock(todoId, () -> {
+            final Todo todo = todoRepository.fetchById(todoId).orElseThrow(() -> EntityNotFoundException.todo(todoId));
+            final Item target = itemRepository.fetchById(id).orElseThrow(() -> EntityNotFoundException.item(id));
+            if (parentIndex.todoOf(id, todoId) != todoId || !todo.getItems().contains(target)) {
+                throw EntityNotFoundException.item(id);
+            }
+            final UnitOfWork work = new UnitOfWork();
+            work.write(() -> todo.getItems().remove(target), () -> {
+                todo.getItems().add(target);
+                parents.persist(todo);
+            });
+            work.write(() -> parents.persist(todo), () -> {});
+            work.write(() -> itemRepository.deleteById(target.getId()), () -> itemRepository.save(target));
+            work.write(() -> listeners.itemDeleted(todoId, target), () -> {});
+            work.flush();
+        });
+    }
+
+    @Override
+    public void delete(@NonNull Integer id) throws EntityNotFoundException {
+        delete(findTodoId(id), id);
+    }
+
+    @Override
+    public Integer findTodoId(@NonNull Integer id) throws EntityNotFoundException {
+        final int todoId = parentIndex.todoOf(id, Integer.MIN_VALUE);
+        if (todoId == Integer.MIN_VALUE) {
+            throw EntityNotFoundException.item(id);
+        }
+        return todoId;
+    }
+
+    @Override
+    public Page<Item> dueBetween(@NonNull Instant from, @NonNull Instant to, String cursor, int size) {
+        return due(from.toEpochMilli(), to.toEpochMilli(), cursor, size);
+    }
+
+    @Override
+    public Page<Item> overdue(@NonNull Instant now, String cursor, int size) {
+        return due(Long.MIN_VALUE, now.toEpochMilli(), cursor, size);
+    }
+
+    @Override
+    public List<Item> soonest(@NonNull Instant now, int count) {
+        Assert.isTrue(count > 0, "count is not positive");
+        return load(deadlineIndex.between(now.toEpochMilli(), Long.MAX_VALUE, null, count));
+    }
+
+    @Override
+    public int countOverdue(@NonNull Instant now) {
+        return columns.countOverdue(now.toEpochMilli());
+    }
+
+    private Page<Item> due(long fromInclusive, long toExclusive, String cursor, int size) {
+        Assert.isTrue(size > 0, "size is not positive");
+        final List<DeadlineIndex.Entry> entries = deadlineIndex.between(fromInclusive, toExclusive, decodeDeadline(cursor), size + 1);
+        final boolean hasNext = entries.size() > size;
+        final List<DeadlineIndex.Entry> content = hasNext ? entries.subList(0, size) : entries;
+        final DeadlineIndex.Entry last = hasNext ? content.get(size - 1) : null;
+        return new Page<>(load(content), last == null ? null : Keyset.encode(last.getDeadline() + ":" + last.getId()));
+    }
+
+    private List<Item> load(List<DeadlineIndex.Entry> entries) {
+        final List<Item> result = new ArrayList<>(entries.size());
+        for (DeadlineIndex.Entry entry : entries) {
+            itemRepository.findById(entry.getId()).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    private static DeadlineIndex.Entry decodeDeadline(String cursor) {
+        final String key = Keyset.decode(cursor);
+        if (key == null) {
+            return null;
+        }
+        final int separator = key.indexOf(':');
+        try {
+            return new DeadlineIndex.Entry(Long.parseLong(key.substring(0, separator)), Integer.parseInt(key.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("cursor is malformed", e);
+        }
+    }
+
+    /**
+     * @return the item of the todo which has the id of <code>target</code> if it is another instance than <code>target</code>
+     */
+    private static Optional<Item> entryOf(Todo todo, Item target) {
+        for (Item item : todo.getItems()) {
+            if (item != target && target.getId().equals(item.getId())) {
+                return Optional.of(item);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static void apply(Item item, ItemPatch patch) {
+        if (patch.getTitle() != null) {
+            item.setTitle(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            item.setDescription(patch.getDescription());
+        }
+        if (patch.getDeadline() != null) {
+            item.setDeadlineTimestamp(patch.getDeadline().toEpochMilli());
+        }
+        if (patch.getCompleted() != null) {
+            item.setCompleted(patch.getCompleted());
+        }
+    }
+
+    private static void assign(Item item, Item source) {
+        item.setTitle(source.getTitle());
+        item.setDescription(source.getDescription());
+        item.setDeadlineTimestamp(source.getDeadlineTimestamp());
+        item.setCompleted(source.isCompleted());
+    }
+
+    private static Item newItem(String title, String description, Instant creation, Instant deadline) {
+        final Item item = new Item();
+        item.setTitle(title);
+        item.setDescription(description);
+        item.setCreationTimestamp(creation.toEpochMilli());
+        item.setDeadlineTimestamp(deadline.toEpochMilli());
+        item.setCompleted(false);
+        return item;
     }
 }
@@ -0,0 +1,85 @@
+package com.nimvb.app.service;
+
+import com.nimvb.app.service.model.Page;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over an arbitrary source.
+ * <p>
+ * The source is walked once and only the <code>size + 1</code> smallest keys after the cursor are retained,
+ * so the memory of a page is bounded by the page size and only the selected entities are copied.
+ */
+final class Keyset {
+
+    private Keyset() {
+    }
+
+    static <T, K extends Comparable<K>> Page<T> page(Iterator<T> source,
+                                                     Function<T, K> key,
+                                                     K after,
+                                                     int size,
+                                                     Function<T, T> copier,
+                                                     Function<K, String> encoder) {
+        Assert.isTrue(size > 0, "size is not positive");
+        final Comparator<T> order = Comparator.comparing(key);
+        final PriorityQueue<T> window = new PriorityQueue<>(size + 1, order.reversed());
+        while (source.hasNext()) {
+            final T candidate = source.next();
+            final K candidateKey = key.apply(candidate);
+            if (after != null && candidateKey.compareTo(after) <= 0) {
+                continue;
+            }
+            if (window.size() <= size) {
+                window.offer(candidate);
+            } else if (order.compare(candidate, window.peek()) < 0) {
+                window.poll();
+                window.offer(candidate);
+            }
+        }
+        final boolean hasNext = window.size() > size;
+        if (hasNext) {
+            window.poll();
+        }
+        final List<T> content = new ArrayList<>(window);
+        content.sort(order);
+        content.replaceAll(copier::apply);
+        final String next = hasNext ? encode(encoder.apply(key.apply(content.get(content.size() - 1)))) : null;
+        return new Page<>(content, next);
+    }
+
+    static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cursor is malformed", e);
+        }
+    }
+
+    static Integer decodeInteger(String cursor) {
+        final String key = decode(cursor);
+        if (key == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("cursor is malformed", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.nimvb.app.service;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.SearchMode;
+import com.nimvb.app.service.model.TodoSummary;
+
+public interface SearchService {
+
+    /**
+     * Items whose title and description contain all the terms of the query, the items which contain the terms in
+     * their title or more often come first
+     *
+     * @param query the terms to search for, separated by anything but letters and digits
+     * @param mode how the terms of the query are matched
+     * @param cursor the continuation token of the previous page, or <code>null</code> for the first page
+     * @param size maximum number of items in the page
+     * @return the page which contains at most <code>size</code> items which are wrapped
+     * @throws IllegalArgumentException if <code>query</code> is null or empty, <code>mode</code> is null, <code>size</code> is not positive or the <code>cursor</code> is malformed
+     */
+    Page<Item> items(String query, SearchMode mode, String cursor, int size) throws IllegalArgumentException;
+
+    /**
+     * Summaries of the todos whose name contains all the terms of the query
+     *
+     * @param query the terms to search for, separated by anything but letters and digits
+     * @param mode how the terms of the query are matched
+     * @param cursor the continuation token of the previous page, or <code>null</code> for the first page
+     * @param size maximum number of todos in the page
+     * @return the page which contains at most <code>size</code> summaries
+     * @throws IllegalArgumentException if <code>query</code> is null or empty, <code>mode</code> is null, <code>size</code> is not positive or the <code>cursor</code> is malformed
+     */
+    Page<TodoSummary> todos(String query, SearchMode mode, String cursor, int size) throws IllegalArgumentException;
+
+    /**
+     * Summaries of the boards whose name contains all the terms of the query
+     *
+     * @param query the terms to search for, separated by anything but letters and digits
+     * @param mode how the terms of the query are matched
+     * @param cursor the continuation token of the previous page, or <code>null</code> for the first page
+     * @param size maximum number of boards in the page
+     * @return the page which contains at most <code>size</code> summaries
+     * @throws IllegalArgumentException if <code>query</code> is null or empty, <code>mode</code> is null, <code>size</code> is not positive or the <code>cursor</code> is malformed
+     */
+    Page<BoardSummary> boards(String query, SearchMode mode, String cursor, int size) throws IllegalArgumentException;
+}
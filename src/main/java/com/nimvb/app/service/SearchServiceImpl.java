@@ -0,0 +1,84 @@
+package com.nimvb.app.service;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
+import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.index.SearchIndex;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.SearchMode;
+import com.nimvb.app.service.model.TodoSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+    private final BoardRepository boardRepository;
+    private final TodoRepository todoRepository;
+    private final ItemRepository itemRepository;
+    private final SearchIndex index;
+    private final ServiceLocks locks;
+
+    @Override
+    public Page<Item> items(String query, SearchMode mode, String cursor, int size) {
+        validate(query, mode, size);
+        final List<SearchIndex.Hit> hits = index.items(query, mode == SearchMode.PREFIX, decodeHit(cursor), size + 1);
+        return page(hits, size, id -> itemRepository.findById(id));
+    }
+
+    @Override
+    public Page<TodoSummary> todos(String query, SearchMode mode, String cursor, int size) {
+        validate(query, mode, size);
+        final List<SearchIndex.Hit> hits = index.todos(query, mode == SearchMode.PREFIX, decodeHit(cursor), size + 1);
+        // the summary is taken from the live todo, so its items are not copied
+        return page(hits, size, id -> locks.getTodos().withLock(id, () -> todoRepository.fetchById(id).map(TodoSummary::of)));
+    }
+
+    @Override
+    public Page<BoardSummary> boards(String query, SearchMode mode, String cursor, int size) {
+        validate(query, mode, size);
+        final List<SearchIndex.Hit> hits = index.boards(query, mode == SearchMode.PREFIX, decodeHit(cursor), size + 1);
+        return page(hits, size, key -> Optional.ofNullable(index.boardId(key)).flatMap(boardId ->
+                locks.getBoards().withLock(boardId, () -> boardRepository.fetchById(boardId).map(BoardSummary::of))));
+    }
+
+    private static <T> Page<T> page(List<SearchIndex.Hit> hits, int size, IntFunction<Optional<T>> loader) {
+        final boolean hasNext = hits.size() > size;
+        final List<SearchIndex.Hit> content = hasNext ? hits.subList(0, size) : hits;
+        final List<T> result = new ArrayList<>(content.size());
+        for (SearchIndex.Hit hit : content) {
+            // an entity which is removed after the index was queried is skipped
+            loader.apply(hit.getId()).ifPresent(result::add);
+        }
+        final SearchIndex.Hit last = hasNext ? content.get(size - 1) : null;
+        return new Page<>(result, last == null ? null : Keyset.encode(last.getScore() + ":" + last.getId()));
+    }
+
+    private static void validate(String query, SearchMode mode, int size) {
+        Assert.hasText(query, "query is null or empty");
+        Assert.notNull(mode, "mode is null");
+        Assert.isTrue(size > 0, "size is not positive");
+    }
+
+    private static SearchIndex.Hit decodeHit(String cursor) {
+        final String key = Keyset.decode(cursor);
+        if (key == null) {
+            return null;
+        }
+        final int separator = key.indexOf(':');
+        try {
+            return new SearchIndex.Hit(Integer.parseInt(key.substring(0, separator)), Integer.parseInt(key.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("cursor is malformed", e);
+        }
+    }
+}
@@ -3,8 +3,12 @@ package com.nimvb.app.service;
 import com.nimvb.app.database.exception.KeyNotFoundException;
 import com.nimvb.app.database.model.Todo;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.TodoSummary;
 
 import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoService {
 
@@ -13,9 +17,9 @@ public interface TodoService {
      *
      * @param boardId the id of the parent board which the newly created todo should be added to
      * @param name the name of the todo
-     * @return the created todo entity which is wrapped
+     * @return the created todo entity which is wrapped in a read-only view
      * @throws EntityNotFoundException if the board with <code>boardId</code> is not found
-     * @throws KeyNotFoundException if the board with <code>boardId</code> is not found due to the fact that the call to this method is not transactional
+     * @throws KeyNotFoundException if the board with <code>boardId</code> is removed while the todo is being added to it, the persisted todo is removed again in that case
      * @throws IllegalArgumentException if <code>boardId</code> or <code>name</code> is null or empty
      */
     Todo create(String boardId,String name) throws IllegalArgumentException, EntityNotFoundException, KeyNotFoundException;
@@ -24,12 +28,21 @@ public interface TodoService {
      * Find the existing todo
      *
      * @param id the id of the target todo
-     * @return the target todo which is wrapped
+     * @return the target todo which is wrapped in a read-only view
      * @throws EntityNotFoundException if there is no entity which has id equals to <code>id</code>
      * @throws IllegalArgumentException if the <code>id</code> is null
      */
     Todo find(Integer id) throws EntityNotFoundException,IllegalArgumentException;
 
+    /**
+     * Same as {@link #find(Integer)}, but a missing todo is an empty result rather than an exception
+     *
+     * @param id the id of the target todo
+     * @return the target todo which is wrapped in a read-only view, or empty if it is not found
+     * @throws IllegalArgumentException if the <code>id</code> is null
+     */
+    Optional<Todo> lookup(Integer id) throws IllegalArgumentException;
+
     /**
      * Collection of all the existing todos
      *
@@ -41,12 +54,85 @@ public interface TodoService {
      * Collection of all the existing todos related to the board with id of <code>boardId</code>
      *
      * @param boardId id of the existing board
-     * @return the collection contains all the existing boards which are wrapped
+     * @return the unmodifiable collection contains all the existing todos of the board which are wrapped in read-only views
      * @throws IllegalArgumentException if <code>boardId</code> is empty or null
      * @throws EntityNotFoundException if the board which its id equals to <code>boardId</code> is not found
      */
     Collection<Todo> all(String boardId) throws IllegalArgumentException,EntityNotFoundException;
 
+    /**
+     * A page of the existing todos ordered by their id
+     *
+     * @param cursor the continuation token of the previous page, or <code>null</code> for the first page
+     * @param size maximum number of todos in the page
+     * @return the page which contains at most <code>size</code> todos which are wrapped
+     * @throws IllegalArgumentException if <code>size</code> is not positive or the <code>cursor</code> is malformed
+     */
+    Page<Todo> page(String cursor, int size) throws IllegalArgumentException;
+
+    /**
+     * A page of the existing todos related to the board with id of <code>boardId</code> ordered by their id
+     *
+     * @param boardId id of the existing board
+     * @param cursor the continuation token of the previous page, or <code>null</code> for the first page
+     * @param size maximum number of todos in the page
+     * @return the page which contains at most <code>size</code> todos which are wrapped in read-only views
+     * @throws IllegalArgumentException if <code>boardId</code> is empty or null, <code>size</code> is not positive or the <code>cursor</code> is malformed
+     * @throws EntityNotFoundException if the board which its id equals to <code>boardId</code> is not found
+     */
+    Page<Todo> page(String boardId, String cursor, int size) throws IllegalArgumentException, EntityNotFoundException;
+
+    /**
+     * Lazy stream of all the existing todos, which is parallel for a large listing if the parallel listing is enabled
+     *
+     * @return the ordered stream over all the existing todos which are wrapped
+     */
+    Stream<Todo> stream();
+
+    /**
+     * Lazy stream of the existing todos related to the board with id of <code>boardId</code>, each todo is wrapped only when it is consumed.
+     * The stream is parallel for a large board if the parallel listing is enabled
+     *
+     * @param boardId id of the existing board
+     * @return the ordered stream over the todos of the board which are wrapped in read-only views
+     * @throws IllegalArgumentException if <code>boardId</code> is empty or null
+     * @throws EntityNotFoundException if the board which its id equals to <code>boardId</code> is not found
+     */
+    Stream<Todo> stream(String boardId) throws IllegalArgumentException, EntityNotFoundException;
+
+    /**
+     * Summaries of the todos related to the board with id of <code>boardId</code>, which carry the counts and the next deadline of the items of each todo instead of the items
+     *
+     * @param boardId id of the existing board
+     * @return the collection contains the summaries of the todos of the board
+     * @throws IllegalArgumentException if <code>boardId</code> is empty or null
+     * @throws EntityNotFoundException if the board which its id equals to <code>boardId</code> is not found
+     */
+    Collection<TodoSummary> summaries(String boardId) throws IllegalArgumentException, EntityNotFoundException;
+
+    /**
+     * A page of the summaries of the todos related to the board with id of <code>boardId</code> ordered by the id of the todos
+     *
+     * @param boardId id of the existing board
+     * @param cursor the continuation token of the previous page, or <code>null</code> for the first page
+     * @param size maximum number of summaries in the page
+     * @return the page which contains at most <code>size</code> summaries
+     * @throws IllegalArgumentException if <code>boardId</code> is empty or null, <code>size</code> is not positive or the <code>cursor</code> is malformed
+     * @throws EntityNotFoundException if the board which its id equals to <code>boardId</code> is not found
+     */
+    Page<TodoSummary> summaries(String boardId, String cursor, int size) throws IllegalArgumentException, EntityNotFoundException;
+
+    /**
+     * Rename the existing todo, only the todo itself is written
+     *
+     * @param id the id of the target todo
+     * @param name the new name of the todo
+     * @return the updated todo which is wrapped in a read-only view
+     * @throws IllegalArgumentException if <code>id</code> is null or <code>name</code> is null or empty
+     * @throws EntityNotFoundException if the todo which has corresponding <code>id</code> is not found
+     */
+    Todo update(Integer id, String name) throws IllegalArgumentException, EntityNotFoundException;
+
     /**
      * Delete the existing todo from the corresponding existing board
      *
@@ -56,4 +142,23 @@ public interface TodoService {
      * @throws EntityNotFoundException if the corresponding board or todo is not found
      */
     void delete(String boardId,Integer id) throws EntityNotFoundException,IllegalArgumentException;
+
+    /**
+     * Delete the existing todo from the board which owns it
+     *
+     * @param id the id of the todo
+     * @throws IllegalArgumentException if the <code>id</code> is null
+     * @throws EntityNotFoundException if the todo is not found
+     */
+    void delete(Integer id) throws EntityNotFoundException,IllegalArgumentException;
+
+    /**
+     * Find the id of the board which owns the todo
+     *
+     * @param id the id of the todo
+     * @return the id of the owning board
+     * @throws IllegalArgumentException if the <code>id</code> is null
+     * @throws EntityNotFoundException if the todo is not found
+     */
+    String findBoardId(Integer id) throws EntityNotFoundException,IllegalArgumentException;
 }
@@ -6,14 +6,31 @@ import com.nimvb.app.database.model.Todo;
 import com.nimvb.app.repository.BoardRepository;
 import com.nimvb.app.repository.ItemRepository;
 import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.async.ServiceExecutor;
+import com.nimvb.app.service.concurrent.ServiceFlights;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.index.ParentIndex;
+import com.nimvb.app.service.model.EntityCopies;
+import com.nimvb.app.service.model.EntityViews;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.TodoSummary;
+import com.nimvb.app.service.persistence.ParentWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,31 +39,44 @@ public class TodoServiceImpl implements TodoService{
     private final BoardRepository boardRepository;
     private final TodoRepository todoRepository;
     private final ItemRepository itemRepository;
+    private final ParentIndex parentIndex;
+    private final EntityListeners listeners;
+    private final ServiceExecutor executor;
+    private final ServiceLocks locks;
+    private final ParentWriter parents;
+    private final ServiceFlights flights;
+    private final ParallelListing listing;
     @Override
     public Todo create(String boardId, String name) {
         Assert.hasText(boardId,"board id is null or empty");
         Assert.hasText(name,"name is null or empty");
         final long creationTimestamp = Instant.now().toEpochMilli();
-        var todo = new Todo(){{
-            setName(name);
-            setCreationTimestamp(creationTimestamp);
-        }};
-        var persistedTodo= todoRepository.persist(todo);
-        final Board board = boardRepository.fetchById(boardId).orElseThrow(EntityNotFoundException::new);
-        board.getTodos().add(persistedTodo);
-        final Board result = boardRepository.save(board);
-        return new Todo(){{
-            setId(persistedTodo.getId());
-            setName(persistedTodo.getName());
-            setCreationTimestamp(persistedTodo.getCreationTimestamp());
-            setItems(persistedTodo.getItems());
-        }};
+        final Todo todo = new Todo();
+        todo.setName(name);
+        todo.setCreationTimestamp(creationTimestamp);
+        final Todo persistedTodo = locks.getBoards().withLock(boardId, () -> {
+            final Board board = boardRepository.fetchById(boardId).orElseThrow(() -> EntityNotFoundException.board(boardId));
+            final UnitOfWork work = new UnitOfWork();
+            final Supplier<Todo> persisted = work.write(() -> todoRepository.persist(todo), created -> todoRepository.deleteById(created.getId()));
+            work.write(() -> board.getTodos().add(persisted.get()), () -> board.getTodos().remove(persisted.get()));
+            work.write(() -> parents.save(board), () -> {});
+            work.write(() -> listeners.todoCreated(boardId, persisted.get()), () -> {});
+            work.flush();
+            return persisted.get();
+        });
+        return EntityViews.of(persistedTodo, locks.getTodos());
     }
 
     @Override
     public Todo find(Integer id) throws EntityNotFoundException {
+        return lookup(id).orElseThrow(() -> EntityNotFoundException.todo(id));
+    }
+
+    @Override
+    public Optional<Todo> lookup(Integer id) throws IllegalArgumentException {
         Assert.notNull(id,"id is null");
-        return todoRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+        // the live todo is wrapped, so a read allocates the view only
+        return locks.getTodos().withLock(id, () -> todoRepository.fetchById(id)).map(todo -> EntityViews.of(todo, locks.getTodos()));
     }
 
     @Override
@@ -57,39 +87,134 @@ public class TodoServiceImpl implements TodoService{
     @Override
     public Collection<Todo> all(String boardId) throws IllegalArgumentException, EntityNotFoundException {
         Assert.hasText(boardId,"board id is null or empty");
-        final Board board = boardRepository.fetchById(boardId).orElseThrow(EntityNotFoundException::new);
-        return board.getTodos().stream().map(todo -> {
-            return new Todo(){{
-                setId(todo.getId());
-                setName(todo.getName());
-                setItems(todo.getItems());
-                setCreationTimestamp(todo.getCreationTimestamp());
-            }};
-        }).collect(Collectors.toList());
+        // only the references are snapshot, the todos are wrapped as they are accessed and the list is shared by the waiting callers
+        return flights.getTodosOfBoard().get(boardId, () -> EntityViews.todos(snapshot(boardId), locks.getTodos()), UnaryOperator.identity());
+    }
+
+    @Override
+    public Page<Todo> page(String cursor, int size) throws IllegalArgumentException {
+        return Keyset.page(todoRepository.findAll().iterator(), Todo::getId, Keyset.decodeInteger(cursor), size, Function.identity(), String::valueOf);
+    }
+
+    @Override
+    public Page<Todo> page(String boardId, String cursor, int size) throws IllegalArgumentException, EntityNotFoundException {
+        Assert.hasText(boardId,"board id is null or empty");
+        final Integer after = Keyset.decodeInteger(cursor);
+        return locks.getBoards().withLock(boardId, () -> {
+            final Board board = boardRepository.fetchById(boardId).orElseThrow(() -> EntityNotFoundException.board(boardId));
+            return Keyset.page(board.getTodos().iterator(), Todo::getId, after, size, todo -> EntityViews.of(todo, locks.getTodos()), String::valueOf);
+        });
+    }
+
+    @Override
+    public Stream<Todo> stream() {
+        return listing.stream(todoRepository.findAll());
+    }
+
+    @Override
+    public Stream<Todo> stream(String boardId) throws IllegalArgumentException, EntityNotFoundException {
+        Assert.hasText(boardId,"board id is null or empty");
+        // only the references are snapshot, the todos are wrapped lazily as the stream is consumed
+        return listing.stream(snapshot(boardId)).map(todo -> EntityViews.of(todo, locks.getTodos()));
+    }
+
+    @Override
+    public Collection<TodoSummary> summaries(String boardId) throws IllegalArgumentException, EntityNotFoundException {
+        Assert.hasText(boardId,"board id is null or empty");
+        return executor.map(snapshot(boardId), this::summary);
+    }
+
+    @Override
+    public Page<TodoSummary> summaries(String boardId, String cursor, int size) throws IllegalArgumentException, EntityNotFoundException {
+        Assert.hasText(boardId,"board id is null or empty");
+        final Integer after = Keyset.decodeInteger(cursor);
+        final Page<Todo> page = Keyset.page(snapshot(boardId).iterator(), Todo::getId, after, size, Function.identity(), String::valueOf);
+        return new Page<>(executor.map(page.getContent(), this::summary), page.getNext());
+    }
+
+    @Override
+    public Todo update(Integer id, String name) throws IllegalArgumentException, EntityNotFoundException {
+        Assert.notNull(id,"todo id is null");
+        Assert.hasText(name,"name is null or empty");
+        final String boardId = findBoardId(id);
+        return locks.getTodos().withLock(id, () -> {
+            final Todo todo = todoRepository.fetchById(id).orElseThrow(() -> EntityNotFoundException.todo(id));
+            final Todo before = EntityCopies.shallow(todo);
+            if (name.equals(todo.getName())) {
+                return EntityViews.of(todo, locks.getTodos());
+            }
+            final UnitOfWork work = new UnitOfWork();
+            work.write(() -> todo.setName(name), () -> todo.setName(before.getName()));
+            work.write(() -> todoRepository.persist(todo), () -> {});
+            work.write(() -> listeners.todoUpdated(boardId, before, EntityCopies.shallow(todo)), () -> {});
+            work.flush();
+            return EntityViews.of(todo, locks.getTodos());
+        });
     }
 
     @Override
     public void delete(String boardId, Integer id) {
         /*
           Steps:
-           1. find the target todo
-           2. find the related board
+           1. find the related board
+           2. find the target todo, it must belong to the board
            3. remove the todo from the related board
-           4. find the corresponding items of the todo and remove the respectively from the item repository
-           6. remove the items from the todo
-           5. persist th board
-           6. remove the item
+           4. capture the items of the todo and remove them from the todo
+           5. persist the board
+           6. remove the todo, the board is restored if that fails
+           7. report the deletions, the todo and the board are restored if the journal cannot record them
+           8. remove the captured items from the item repository at once
          */
         Assert.hasText(boardId,"board id is null or empty");
         Assert.notNull(id,"todo id is null");
-        final Todo todo = todoRepository.fetchById(id).orElseThrow(EntityNotFoundException::new);
-        final Board board = boardRepository.fetchById(boardId).orElseThrow(EntityNotFoundException::new);
-        board.getTodos().remove(todo);
-        for (Item item : todo.getItems()) {
-            itemRepository.deleteById(item.getId());
-        }
-        todo.getItems().clear();
-        boardRepository.persist(board);
-        todoRepository.deleteById(id);
+        locks.getBoards().withLock(boardId, () -> {
+            final Board board = boardRepository.fetchById(boardId).orElseThrow(() -> EntityNotFoundException.board(boardId));
+            if (!parentIndex.boardOf(id).orElse(boardId).equals(boardId)) {
+                throw EntityNotFoundException.todo(id);
+            }
+            locks.getTodos().withLock(id, () -> {
+                final Todo todo = todoRepository.fetchById(id).orElseThrow(() -> EntityNotFoundException.todo(id));
+                if (board.getTodos().stream().noneMatch(candidate -> id.equals(candidate.getId()))) {
+                    throw EntityNotFoundException.todo(id);
+                }
+                final List<Item> captured = new ArrayList<>(todo.getItems());
+                final UnitOfWork work = new UnitOfWork();
+                work.write(() -> {
+                    board.getTodos().remove(todo);
+                    todo.getItems().clear();
+                }, () -> {
+                    todo.getItems().addAll(captured);
+                    board.getTodos().add(todo);
+                    parents.persist(board);
+                });
+                work.write(() -> parents.persist(board), () -> {});
+                work.write(() -> todoRepository.deleteById(id), () -> todoRepository.save(todo));
+                work.write(() -> Cascade.todoDeleted(listeners, boardId, todo, captured), () -> {});
+                work.flush();
+                executor.forEachChunk(captured, chunk -> Cascade.deleteItems(itemRepository, chunk));
+            });
+        });
+    }
+
+    @Override
+    public void delete(Integer id) throws EntityNotFoundException, IllegalArgumentException {
+        delete(findBoardId(id), id);
+    }
+
+    @Override
+    public String findBoardId(Integer id) throws EntityNotFoundException, IllegalArgumentException {
+        Assert.notNull(id,"todo id is null");
+        return parentIndex.boardOf(id).orElseThrow(() -> EntityNotFoundException.todo(id));
+    }
+
+    private TodoSummary summary(Todo todo) {
+        return locks.getTodos().withLock(todo.getId(), () -> TodoSummary.of(todo));
+    }
+
+    private List<Todo> snapshot(String boardId) {
+        return locks.getBoards().withLock(boardId, () -> {
+            final Board board = boardRepository.fetchById(boardId).orElseThrow(() -> EntityNotFoundException.board(boardId));
+            return new ArrayList<>(board.getTodos());
+        });
     }
 }
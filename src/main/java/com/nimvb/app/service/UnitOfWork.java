@@ -0,0 +1,99 @@
+package com.nimvb.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The writes of a single service operation.
+ * <p>
+ * An operation does its lookups and validation first and registers its writes, nothing is written until
+ * {@link #flush()}. The writes are then applied in the order they were registered and if one of them fails, the
+ * compensations of the writes which were already applied run in reverse order before the failure is rethrown, so a
+ * failed operation does not leave e.g. a persisted todo behind which no board refers to.
+ */
+final class UnitOfWork {
+
+    private final List<Write<?>> writes = new ArrayList<>();
+    private boolean flushed;
+
+    /**
+     * Register a write whose result is needed by the writes which are registered after it
+     *
+     * @param apply the write
+     * @param compensate undoes the write, given its result
+     * @return the result of the write, available once the write has been applied
+     */
+    <T> Supplier<T> write(Supplier<T> apply, Consumer<? super T> compensate) {
+        if (flushed) {
+            throw new IllegalStateException("unit of work is already flushed");
+        }
+        final Write<T> write = new Write<>(apply, compensate);
+        writes.add(write);
+        return write;
+    }
+
+    void write(Runnable apply, Runnable compensate) {
+        write(() -> {
+            apply.run();
+            return null;
+        }, ignored -> compensate.run());
+    }
+
+    /**
+     * Apply the registered writes
+     *
+     * @throws IllegalStateException if the unit of work is already flushed
+     */
+    void flush() {
+        if (flushed) {
+            throw new IllegalStateException("unit of work is already flushed");
+        }
+        flushed = true;
+        int applied = 0;
+        try {
+            for (; applied < writes.size(); applied++) {
+                writes.get(applied).apply();
+            }
+        } catch (RuntimeException | Error e) {
+            for (int i = applied - 1; i >= 0; i--) {
+                try {
+                    writes.get(i).compensate();
+                } catch (RuntimeException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static final class Write<T> implements Supplier<T> {
+        private final Supplier<T> apply;
+        private final Consumer<? super T> compensate;
+        private T result;
+        private boolean applied;
+
+        private Write(Supplier<T> apply, Consumer<? super T> compensate) {
+            this.apply = apply;
+            this.compensate = compensate;
+        }
+
+        private void apply() {
+            result = apply.get();
+            applied = true;
+        }
+
+        private void compensate() {
+            compensate.accept(result);
+        }
+
+        @Override
+        public T get() {
+            if (!applied) {
+                throw new IllegalStateException("write is not applied yet");
+            }
+            return result;
+        }
+    }
+}
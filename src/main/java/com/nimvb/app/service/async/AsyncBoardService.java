@@ -0,0 +1,34 @@
+package com.nimvb.app.service.async;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.service.BoardService;
+import com.nimvb.app.service.model.BoardStatistics;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.Page;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link BoardService}, every future completes with the result of the corresponding
+ * {@link BoardService} method or exceptionally with the exception which it has thrown
+ */
+public interface AsyncBoardService {
+
+    CompletableFuture<Board> create(String name, String color);
+
+    CompletableFuture<Board> find(String id);
+
+    CompletableFuture<Optional<Board>> lookup(String id);
+
+    CompletableFuture<Collection<Board>> all();
+
+    CompletableFuture<Page<Board>> page(String cursor, int size);
+
+    CompletableFuture<Collection<BoardSummary>> summaries();
+
+    CompletableFuture<Void> delete(String id);
+
+    CompletableFuture<BoardStatistics> statistics(String id);
+}
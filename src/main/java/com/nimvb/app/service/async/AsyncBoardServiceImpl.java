@@ -0,0 +1,60 @@
+package com.nimvb.app.service.async;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.service.BoardService;
+import com.nimvb.app.service.model.BoardStatistics;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.Page;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class AsyncBoardServiceImpl implements AsyncBoardService {
+    private final BoardService boardService;
+    private final ServiceExecutor executor;
+
+    @Override
+    public CompletableFuture<Board> create(String name, String color) {
+        return executor.supply(() -> boardService.create(name, color));
+    }
+
+    @Override
+    public CompletableFuture<Board> find(String id) {
+        return executor.supply(() -> boardService.find(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Board>> lookup(String id) {
+        return executor.supply(() -> boardService.lookup(id));
+    }
+
+    @Override
+    public CompletableFuture<Collection<Board>> all() {
+        return executor.supply(boardService::all);
+    }
+
+    @Override
+    public CompletableFuture<Page<Board>> page(String cursor, int size) {
+        return executor.supply(() -> boardService.page(cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Collection<BoardSummary>> summaries() {
+        return executor.supply(boardService::summaries);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id) {
+        return executor.run(() -> boardService.delete(id));
+    }
+
+    @Override
+    public CompletableFuture<BoardStatistics> statistics(String id) {
+        return executor.supply(() -> boardService.statistics(id));
+    }
+}
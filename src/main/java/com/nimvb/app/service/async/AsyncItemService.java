@@ -0,0 +1,57 @@
+package com.nimvb.app.service.async;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.model.ItemPatch;
+import com.nimvb.app.service.model.ItemSpec;
+import com.nimvb.app.service.model.ItemSummary;
+import com.nimvb.app.service.model.Page;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link ItemService}, every future completes with the result of the corresponding
+ * {@link ItemService} method or exceptionally with the exception which it has thrown
+ */
+public interface AsyncItemService {
+
+    CompletableFuture<Item> create(Integer todoId, String title, String description, Instant deadline);
+
+    CompletableFuture<List<Item>> createAll(Integer todoId, List<ItemSpec> specs);
+
+    CompletableFuture<Item> find(Integer id);
+
+    CompletableFuture<Optional<Item>> lookup(Integer id);
+
+    CompletableFuture<Collection<Item>> all();
+
+    CompletableFuture<Page<Item>> page(String cursor, int size);
+
+    CompletableFuture<Collection<ItemSummary>> summaries(Integer todoId);
+
+    CompletableFuture<Item> update(Integer id, String title, String description, Instant deadline);
+
+    CompletableFuture<Item> complete(Integer id);
+
+    CompletableFuture<Item> patch(Integer id, ItemPatch patch);
+
+    CompletableFuture<List<Item>> completeAll(Integer todoId);
+
+    CompletableFuture<Void> delete(Integer todoId, Integer id);
+
+    CompletableFuture<Void> delete(Integer id);
+
+    CompletableFuture<Integer> findTodoId(Integer id);
+
+    CompletableFuture<Page<Item>> dueBetween(Instant from, Instant to, String cursor, int size);
+
+    CompletableFuture<Page<Item>> overdue(Instant now, String cursor, int size);
+
+    CompletableFuture<List<Item>> soonest(Instant now, int count);
+
+    CompletableFuture<Integer> countOverdue(Instant now);
+}
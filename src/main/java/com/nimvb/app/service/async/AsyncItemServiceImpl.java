@@ -0,0 +1,113 @@
+package com.nimvb.app.service.async;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.model.ItemPatch;
+import com.nimvb.app.service.model.ItemSpec;
+import com.nimvb.app.service.model.ItemSummary;
+import com.nimvb.app.service.model.Page;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class AsyncItemServiceImpl implements AsyncItemService {
+    private final ItemService itemService;
+    private final ServiceExecutor executor;
+
+    @Override
+    public CompletableFuture<Item> create(Integer todoId, String title, String description, Instant deadline) {
+        return executor.supply(() -> itemService.create(todoId, title, description, deadline));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> createAll(Integer todoId, List<ItemSpec> specs) {
+        return executor.supply(() -> itemService.createAll(todoId, specs));
+    }
+
+    @Override
+    public CompletableFuture<Item> find(Integer id) {
+        return executor.supply(() -> itemService.find(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Item>> lookup(Integer id) {
+        return executor.supply(() -> itemService.lookup(id));
+    }
+
+    @Override
+    public CompletableFuture<Collection<Item>> all() {
+        return executor.supply(itemService::all);
+    }
+
+    @Override
+    public CompletableFuture<Page<Item>> page(String cursor, int size) {
+        return executor.supply(() -> itemService.page(cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Collection<ItemSummary>> summaries(Integer todoId) {
+        return executor.supply(() -> itemService.summaries(todoId));
+    }
+
+    @Override
+    public CompletableFuture<Item> update(Integer id, String title, String description, Instant deadline) {
+        return executor.supply(() -> itemService.update(id, title, description, deadline));
+    }
+
+    @Override
+    public CompletableFuture<Item> complete(Integer id) {
+        return executor.supply(() -> itemService.complete(id));
+    }
+
+    @Override
+    public CompletableFuture<Item> patch(Integer id, ItemPatch patch) {
+        return executor.supply(() -> itemService.patch(id, patch));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> completeAll(Integer todoId) {
+        return executor.supply(() -> itemService.completeAll(todoId));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(Integer todoId, Integer id) {
+        return executor.run(() -> itemService.delete(todoId, id));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(Integer id) {
+        return executor.run(() -> itemService.delete(id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> findTodoId(Integer id) {
+        return executor.supply(() -> itemService.findTodoId(id));
+    }
+
+    @Override
+    public CompletableFuture<Page<Item>> dueBetween(Instant from, Instant to, String cursor, int size) {
+        return executor.supply(() -> itemService.dueBetween(from, to, cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Page<Item>> overdue(Instant now, String cursor, int size) {
+        return executor.supply(() -> itemService.overdue(now, cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> soonest(Instant now, int count) {
+        return executor.supply(() -> itemService.soonest(now, count));
+    }
+
+    @Override
+    public CompletableFuture<Integer> countOverdue(Instant now) {
+        return executor.supply(() -> itemService.countOverdue(now));
+    }
+}
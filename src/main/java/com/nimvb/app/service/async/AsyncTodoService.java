@@ -0,0 +1,43 @@
+package com.nimvb.app.service.async;
+
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.TodoService;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.TodoSummary;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link TodoService}, every future completes with the result of the corresponding
+ * {@link TodoService} method or exceptionally with the exception which it has thrown
+ */
+public interface AsyncTodoService {
+
+    CompletableFuture<Todo> create(String boardId, String name);
+
+    CompletableFuture<Todo> find(Integer id);
+
+    CompletableFuture<Optional<Todo>> lookup(Integer id);
+
+    CompletableFuture<Collection<Todo>> all();
+
+    CompletableFuture<Collection<Todo>> all(String boardId);
+
+    CompletableFuture<Page<Todo>> page(String cursor, int size);
+
+    CompletableFuture<Page<Todo>> page(String boardId, String cursor, int size);
+
+    CompletableFuture<Collection<TodoSummary>> summaries(String boardId);
+
+    CompletableFuture<Page<TodoSummary>> summaries(String boardId, String cursor, int size);
+
+    CompletableFuture<Todo> update(Integer id, String name);
+
+    CompletableFuture<Void> delete(String boardId, Integer id);
+
+    CompletableFuture<Void> delete(Integer id);
+
+    CompletableFuture<String> findBoardId(Integer id);
+}
@@ -0,0 +1,84 @@
+package com.nimvb.app.service.async;
+
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.TodoService;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.TodoSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class AsyncTodoServiceImpl implements AsyncTodoService {
+    private final TodoService todoService;
+    private final ServiceExecutor executor;
+
+    @Override
+    public CompletableFuture<Todo> create(String boardId, String name) {
+        return executor.supply(() -> todoService.create(boardId, name));
+    }
+
+    @Override
+    public CompletableFuture<Todo> find(Integer id) {
+        return executor.supply(() -> todoService.find(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Todo>> lookup(Integer id) {
+        return executor.supply(() -> todoService.lookup(id));
+    }
+
+    @Override
+    public CompletableFuture<Collection<Todo>> all() {
+        return executor.supply(todoService::all);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Todo>> all(String boardId) {
+        return executor.supply(() -> todoService.all(boardId));
+    }
+
+    @Override
+    public CompletableFuture<Page<Todo>> page(String cursor, int size) {
+        return executor.supply(() -> todoService.page(cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Page<Todo>> page(String boardId, String cursor, int size) {
+        return executor.supply(() -> todoService.page(boardId, cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Collection<TodoSummary>> summaries(String boardId) {
+        return executor.supply(() -> todoService.summaries(boardId));
+    }
+
+    @Override
+    public CompletableFuture<Page<TodoSummary>> summaries(String boardId, String cursor, int size) {
+        return executor.supply(() -> todoService.summaries(boardId, cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Todo> update(Integer id, String name) {
+        return executor.supply(() -> todoService.update(id, name));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String boardId, Integer id) {
+        return executor.run(() -> todoService.delete(boardId, id));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(Integer id) {
+        return executor.run(() -> todoService.delete(id));
+    }
+
+    @Override
+    public CompletableFuture<String> findBoardId(Integer id) {
+        return executor.supply(() -> todoService.findBoardId(id));
+    }
+}
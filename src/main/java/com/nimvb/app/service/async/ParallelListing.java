@@ -0,0 +1,123 @@
+package com.nimvb.app.service.async;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The streams which are returned by the listing methods of the services.
+ * <p>
+ * When <code>todo.service.listing.parallel</code> is enabled, a stream over more elements than
+ * <code>todo.service.listing.parallel-threshold</code> is parallel, so the operations of the caller are run on the
+ * common fork-join pool. Its spliterator halves the range of the list until a few leaves per worker are left, and
+ * keeps the order of the elements. A smaller or disabled listing is a sequential stream.
+ * <p>
+ * The mode is off by default. The default threshold of <code>8192</code> is a placeholder and has not been measured on
+ * a multi-core machine, so before the mode is enabled the threshold should be set to the crossover which
+ * <code>ListingBenchmark</code> reports on the target machine.
+ */
+@Component
+public class ParallelListing {
+
+    private static final int LEAVES_PER_WORKER = 4;
+
+    private final boolean parallel;
+    private final int threshold;
+
+    @Autowired
+    public ParallelListing(@Value("${todo.service.listing.parallel:false}") boolean parallel,
+                           @Value("${todo.service.listing.parallel-threshold:8192}") int threshold) {
+        this.parallel = parallel;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return a listing which always streams sequentially
+     */
+    public static ParallelListing sequential() {
+        return new ParallelListing(false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param source the elements to be streamed
+     * @return an ordered stream over the elements of <code>source</code>, parallel if it is large enough
+     */
+    public <T> Stream<T> stream(Collection<T> source) {
+        final int size = source.size();
+        if (!parallel || size <= threshold) {
+            return source.stream();
+        }
+        // the spliterator indexes the list, so anything without fast random access is copied first
+        final List<T> list = source instanceof List && source instanceof RandomAccess ? (List<T>) source : new ArrayList<>(source);
+        final int leaf = Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() * LEAVES_PER_WORKER));
+        return StreamSupport.stream(new RangeSpliterator<>(list, 0, list.size(), leaf), true);
+    }
+
+    /**
+     * Splits a range of a random access list in halves down to <code>leaf</code> elements
+     */
+    static final class RangeSpliterator<T> implements Spliterator<T> {
+
+        private final List<T> source;
+        private int from;
+        private final int to;
+        private final int leaf;
+
+        RangeSpliterator(List<T> source, int from, int to, int leaf) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(source.get(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            final int end = to;
+            for (int index = from; index < end; index++) {
+                action.accept(source.get(index));
+            }
+            from = end;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int remaining = to - from;
+            if (remaining <= leaf || remaining < 2) {
+                return null;
+            }
+            final int middle = from + (remaining >>> 1);
+            final Spliterator<T> prefix = new RangeSpliterator<>(source, from, middle, leaf);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.nimvb.app.service.async;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The executor which runs the asynchronous service calls and the fan-out of the service implementations.
+ * <p>
+ * Virtual threads are used when the runtime provides them and <code>todo.service.executor.virtual-threads</code> is
+ * enabled, otherwise a fixed pool of daemon threads is used. Work which is smaller than the fan-out threshold is run
+ * on the calling thread.
+ */
+@Component
+public class ServiceExecutor implements Executor, DisposableBean {
+
+    private final Executor executor;
+    private final int threshold;
+
+    @Autowired
+    public ServiceExecutor(@Value("${todo.service.executor.virtual-threads:true}") boolean virtualThreads,
+                           @Value("${todo.service.executor.pool-size:0}") int poolSize,
+                           @Value("${todo.service.executor.fan-out-threshold:1024}") int threshold) {
+        this(create(virtualThreads, poolSize), threshold);
+    }
+
+    public ServiceExecutor(Executor executor, int threshold) {
+        this.executor = executor;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return an executor which runs everything on the calling thread
+     */
+    public static ServiceExecutor direct() {
+        return new ServiceExecutor(Runnable::run, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    public CompletableFuture<Void> run(Runnable runnable) {
+        return CompletableFuture.runAsync(runnable, executor);
+    }
+
+    /**
+     * Apply <code>consumer</code> to consecutive chunks of <code>source</code> in parallel and wait for all of them
+     *
+     * @param source the elements to be processed
+     * @param consumer the action for a single chunk
+     */
+    public <T> void forEachChunk(List<T> source, Consumer<List<T>> consumer) {
+        if (source.size() <= threshold) {
+            consumer.accept(source);
+            return;
+        }
+        final List<Chunk> chunks = new ArrayList<>();
+        for (int from = 0; from < source.size(); from += threshold) {
+            final List<T> chunk = source.subList(from, Math.min(source.size(), from + threshold));
+            chunks.add(new Chunk(() -> consumer.accept(chunk)));
+        }
+        fanOut(chunks);
+    }
+
+    /**
+     * Map every element of <code>source</code> in parallel chunks while keeping the order of the elements
+     *
+     * @param source the elements to be mapped
+     * @param mapper the mapping of a single element
+     * @return the mapped elements in the order of <code>source</code>
+     */
+    public <T, R> List<R> map(List<T> source, Function<T, R> mapper) {
+        final List<R> result = new ArrayList<>(source.size());
+        if (source.size() <= threshold) {
+            for (T element : source) {
+                result.add(mapper.apply(element));
+            }
+            return result;
+        }
+        final List<List<R>> mapped = new ArrayList<>();
+        final List<Chunk> chunks = new ArrayList<>();
+        for (int from = 0; from < source.size(); from += threshold) {
+            final List<T> chunk = source.subList(from, Math.min(source.size(), from + threshold));
+            final List<R> target = new ArrayList<>(chunk.size());
+            mapped.add(target);
+            chunks.add(new Chunk(() -> {
+                for (T element : chunk) {
+                    target.add(mapper.apply(element));
+                }
+            }));
+        }
+        fanOut(chunks);
+        for (List<R> chunk : mapped) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Offer every chunk but the first to the executor, then run every chunk which no thread of the executor has
+     * claimed yet on the calling thread. The caller therefore never waits for a chunk which is still queued, which
+     * would deadlock a fixed pool whose threads are all busy with callers which fan out themselves.
+     */
+    private void fanOut(List<Chunk> chunks) {
+        for (int i = 1; i < chunks.size(); i++) {
+            try {
+                executor.execute(chunks.get(i));
+            } catch (RejectedExecutionException e) {
+                // the chunk is run by the caller below
+            }
+        }
+        for (Chunk chunk : chunks) {
+            chunk.run();
+        }
+        for (Chunk chunk : chunks) {
+            join(chunk.done);
+        }
+    }
+
+    private static final class Chunk implements Runnable {
+
+        private final Runnable task;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Chunk(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                task.run();
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static ExecutorService create(boolean virtualThreads, int poolSize) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // virtual threads are not available before Java 21
+            }
+        }
+        final AtomicInteger sequence = new AtomicInteger();
+        final ThreadFactory factory = runnable -> {
+            final Thread thread = new Thread(runnable, "service-executor-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors(), factory);
+    }
+}
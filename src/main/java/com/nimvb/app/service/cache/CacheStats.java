@@ -0,0 +1,14 @@
+package com.nimvb.app.service.cache;
+
+import lombok.Value;
+
+/**
+ * Point in time counters of a {@link LruCache}
+ */
+@Value
+public class CacheStats {
+    long hits;
+    long misses;
+    long evictions;
+    int size;
+}
@@ -0,0 +1,97 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.service.BoardService;
+import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.model.BoardStatistics;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.EntityViews;
+import com.nimvb.app.service.model.Page;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of {@link BoardService#find(String)}
+ */
+@RequiredArgsConstructor
+public class CachingBoardService implements BoardService {
+
+    private final BoardService delegate;
+    private final ServiceCache cache;
+
+    @Override
+    public Board create(String name, String color) throws IllegalArgumentException {
+        return delegate.create(name, color);
+    }
+
+    @Override
+    public Board find(String id) throws EntityNotFoundException, IllegalArgumentException {
+        Assert.hasText(id, "id is empty");
+        Board board = cache.getBoards().get(id);
+        if (board == null) {
+            final long generation = cache.getBoards().generation();
+            board = delegate.find(id);
+            cache.getBoards().putIfCurrent(id, board, generation);
+        }
+        return EntityViews.of(board);
+    }
+
+    @Override
+    public Optional<Board> lookup(String id) throws IllegalArgumentException {
+        Assert.hasText(id, "id is empty");
+        final Board cached = cache.getBoards().get(id);
+        if (cached != null) {
+            return Optional.of(EntityViews.of(cached));
+        }
+        final long generation = cache.getBoards().generation();
+        final Optional<Board> board = delegate.lookup(id);
+        board.ifPresent(found -> cache.getBoards().putIfCurrent(id, found, generation));
+        return board.map(EntityViews::of);
+    }
+
+    @Override
+    public Collection<Board> all() {
+        return delegate.all();
+    }
+
+    @Override
+    public Page<Board> page(String cursor, int size) throws IllegalArgumentException {
+        return delegate.page(cursor, size);
+    }
+
+    @Override
+    public Stream<Board> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public Collection<BoardSummary> summaries() {
+        return delegate.summaries();
+    }
+
+    @Override
+    public void delete(String id) throws IllegalArgumentException, EntityNotFoundException {
+        try {
+            delegate.delete(id);
+        } finally {
+            // the delete cascades to todos and items of the board
+            cache.getBoards().invalidate(id);
+            cache.getTodos().invalidateAll();
+            cache.getItems().invalidateAll();
+        }
+    }
+
+    @Override
+    public BoardStatistics statistics(String id) throws IllegalArgumentException, EntityNotFoundException {
+        return delegate.statistics(id);
+    }
+
+    @Override
+    public BoardStatistics recompute(String id) throws IllegalArgumentException, EntityNotFoundException {
+        return delegate.recompute(id);
+    }
+}
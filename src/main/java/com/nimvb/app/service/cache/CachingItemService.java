@@ -0,0 +1,180 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.index.ParentIndex;
+import com.nimvb.app.service.model.EntityViews;
+import com.nimvb.app.service.model.ItemPatch;
+import com.nimvb.app.service.model.ItemSpec;
+import com.nimvb.app.service.model.ItemSummary;
+import com.nimvb.app.service.model.Page;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of {@link ItemService#find(Integer)}
+ * <p>
+ * An item mutation drops the cached todo of the item and the cached board which owns that todo, as found by the
+ * {@link ParentIndex}.
+ */
+@RequiredArgsConstructor
+public class CachingItemService implements ItemService {
+
+    private final ItemService delegate;
+    private final ServiceCache cache;
+    private final ParentIndex parents;
+
+    @Override
+    public Item create(Integer todoId, String title, String description, Instant deadline) {
+        try {
+            return delegate.create(todoId, title, description, deadline);
+        } finally {
+            invalidateParents(todoId);
+        }
+    }
+
+    @Override
+    public List<Item> createAll(Integer todoId, List<ItemSpec> specs) {
+        try {
+            return delegate.createAll(todoId, specs);
+        } finally {
+            invalidateParents(todoId);
+        }
+    }
+
+    @Override
+    public Item find(Integer id) throws EntityNotFoundException {
+        Item item = id == null ? null : cache.getItems().get(id);
+        if (item == null) {
+            final long generation = cache.getItems().generation();
+            item = delegate.find(id);
+            cache.getItems().putIfCurrent(id, item, generation);
+        }
+        return EntityViews.of(item);
+    }
+
+    @Override
+    public Optional<Item> lookup(Integer id) {
+        final Item cached = id == null ? null : cache.getItems().get(id);
+        if (cached != null) {
+            return Optional.of(EntityViews.of(cached));
+        }
+        final long generation = cache.getItems().generation();
+        final Optional<Item> item = delegate.lookup(id);
+        item.ifPresent(found -> cache.getItems().putIfCurrent(id, found, generation));
+        return item.map(EntityViews::of);
+    }
+
+    @Override
+    public Collection<Item> all() {
+        return delegate.all();
+    }
+
+    @Override
+    public Page<Item> page(String cursor, int size) {
+        return delegate.page(cursor, size);
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public Collection<ItemSummary> summaries(Integer todoId) throws EntityNotFoundException {
+        return delegate.summaries(todoId);
+    }
+
+    @Override
+    public Item update(Integer id, String title, String description, Instant deadline) {
+        return invalidating(id, () -> delegate.update(id, title, description, deadline));
+    }
+
+    @Override
+    public Item complete(Integer id) {
+        return invalidating(id, () -> delegate.complete(id));
+    }
+
+    @Override
+    public Item patch(Integer id, ItemPatch patch) {
+        return invalidating(id, () -> delegate.patch(id, patch));
+    }
+
+    @Override
+    public List<Item> completeAll(Integer todoId) {
+        try {
+            return delegate.completeAll(todoId);
+        } finally {
+            cache.getItems().invalidateAll();
+            invalidateParents(todoId);
+        }
+    }
+
+    @Override
+    public void delete(Integer todoId, Integer id) {
+        try {
+            delegate.delete(todoId, id);
+        } finally {
+            if (id != null) {
+                cache.getItems().invalidate(id);
+            }
+            invalidateParents(todoId);
+        }
+    }
+
+    @Override
+    public void delete(Integer id) throws EntityNotFoundException {
+        delete(delegate.findTodoId(id), id);
+    }
+
+    @Override
+    public Integer findTodoId(Integer id) throws EntityNotFoundException {
+        return delegate.findTodoId(id);
+    }
+
+    @Override
+    public Page<Item> dueBetween(Instant from, Instant to, String cursor, int size) {
+        return delegate.dueBetween(from, to, cursor, size);
+    }
+
+    @Override
+    public Page<Item> overdue(Instant now, String cursor, int size) {
+        return delegate.overdue(now, cursor, size);
+    }
+
+    @Override
+    public List<Item> soonest(Instant now, int count) {
+        return delegate.soonest(now, count);
+    }
+
+    @Override
+    public int countOverdue(Instant now) {
+        return delegate.countOverdue(now);
+    }
+
+    private Item invalidating(Integer id, Supplier<Item> update) {
+        final Integer todoId = id == null ? null : delegate.findTodoId(id);
+        try {
+            return update.get();
+        } finally {
+            if (id != null) {
+                cache.getItems().invalidate(id);
+            }
+            invalidateParents(todoId);
+        }
+    }
+
+    private void invalidateParents(Integer todoId) {
+        if (todoId != null) {
+            cache.getTodos().invalidate(todoId);
+            parents.boardOf(todoId).ifPresent(cache.getBoards()::invalidate);
+        }
+    }
+}
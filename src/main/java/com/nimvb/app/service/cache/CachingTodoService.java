@@ -0,0 +1,140 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.TodoService;
+import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.model.EntityViews;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.TodoSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of {@link TodoService#find(Integer)}
+ */
+@RequiredArgsConstructor
+public class CachingTodoService implements TodoService {
+
+    private final TodoService delegate;
+    private final ServiceCache cache;
+
+    @Override
+    public Todo create(String boardId, String name) {
+        try {
+            return delegate.create(boardId, name);
+        } finally {
+            cache.getBoards().invalidate(boardId);
+        }
+    }
+
+    @Override
+    public Todo find(Integer id) throws EntityNotFoundException, IllegalArgumentException {
+        Assert.notNull(id, "id is null");
+        Todo todo = cache.getTodos().get(id);
+        if (todo == null) {
+            final long generation = cache.getTodos().generation();
+            todo = delegate.find(id);
+            cache.getTodos().putIfCurrent(id, todo, generation);
+        }
+        return EntityViews.of(todo);
+    }
+
+    @Override
+    public Optional<Todo> lookup(Integer id) throws IllegalArgumentException {
+        Assert.notNull(id, "id is null");
+        final Todo cached = cache.getTodos().get(id);
+        if (cached != null) {
+            return Optional.of(EntityViews.of(cached));
+        }
+        final long generation = cache.getTodos().generation();
+        final Optional<Todo> todo = delegate.lookup(id);
+        todo.ifPresent(found -> cache.getTodos().putIfCurrent(id, found, generation));
+        return todo.map(EntityViews::of);
+    }
+
+    @Override
+    public Collection<Todo> all() {
+        return delegate.all();
+    }
+
+    @Override
+    public Collection<Todo> all(String boardId) throws IllegalArgumentException, EntityNotFoundException {
+        return delegate.all(boardId);
+    }
+
+    @Override
+    public Page<Todo> page(String cursor, int size) throws IllegalArgumentException {
+        return delegate.page(cursor, size);
+    }
+
+    @Override
+    public Page<Todo> page(String boardId, String cursor, int size) throws IllegalArgumentException, EntityNotFoundException {
+        return delegate.page(boardId, cursor, size);
+    }
+
+    @Override
+    public Stream<Todo> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public Stream<Todo> stream(String boardId) throws IllegalArgumentException, EntityNotFoundException {
+        return delegate.stream(boardId);
+    }
+
+    @Override
+    public Collection<TodoSummary> summaries(String boardId) throws IllegalArgumentException, EntityNotFoundException {
+        return delegate.summaries(boardId);
+    }
+
+    @Override
+    public Page<TodoSummary> summaries(String boardId, String cursor, int size) throws IllegalArgumentException, EntityNotFoundException {
+        return delegate.summaries(boardId, cursor, size);
+    }
+
+    @Override
+    public Todo update(Integer id, String name) throws IllegalArgumentException, EntityNotFoundException {
+        final String boardId = delegate.findBoardId(id);
+        try {
+            return delegate.update(id, name);
+        } finally {
+            cache.getBoards().invalidate(boardId);
+            cache.getTodos().invalidate(id);
+        }
+    }
+
+    @Override
+    public void delete(String boardId, Integer id) throws EntityNotFoundException, IllegalArgumentException {
+        final Todo cached = id == null ? null : cache.getTodos().get(id);
+        try {
+            delegate.delete(boardId, id);
+        } finally {
+            cache.getBoards().invalidate(boardId);
+            if (id != null) {
+                cache.getTodos().invalidate(id);
+            }
+            if (cached != null) {
+                for (Item item : cached.getItems()) {
+                    cache.getItems().invalidate(item.getId());
+                }
+            } else {
+                cache.getItems().invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public void delete(Integer id) throws EntityNotFoundException, IllegalArgumentException {
+        delete(delegate.findBoardId(id), id);
+    }
+
+    @Override
+    public String findBoardId(Integer id) throws EntityNotFoundException, IllegalArgumentException {
+        return delegate.findBoardId(id);
+    }
+}
@@ -0,0 +1,134 @@
+package com.nimvb.app.service.cache;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded least-recently-used cache with a time to live per entry.
+ * <p>
+ * Expired entries are dropped lazily when they are looked up or when they reach the eldest position.
+ * <p>
+ * Every invalidation advances the generation of the cache. A caller which loads a missing value reads the generation
+ * before the load and fills the cache with {@link #putIfCurrent(Object, Object, long)}, so a value which was loaded
+ * before a concurrent mutation is not cached once that mutation has invalidated the entries.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class LruCache<K, V> {
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, System::nanoTime);
+    }
+
+    LruCache(int maximumSize, Duration ttl, LongSupplier clock) {
+        Assert.isTrue(maximumSize > 0, "maximum size is not positive");
+        Assert.isTrue(ttl != null && !ttl.isNegative() && !ttl.isZero(), "ttl is not positive");
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @param key the key of the entry
+     * @return the cached value or <code>null</code> if it is absent or expired
+     */
+    public synchronized V get(K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt - clock.getAsLong() <= 0) {
+            entries.remove(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+        final Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maximumSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * @param key the key of the entry
+     * @param value the value which was loaded after {@link #generation()} returned <code>generation</code>
+     * @param generation the generation of the cache before the value was loaded
+     * @return <code>false</code> if the cache was invalidated since then, so the value was not put
+     */
+    public synchronized boolean putIfCurrent(K key, V value, long generation) {
+        if (this.generation != generation) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * @return the number of invalidations so far
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of entries above which the least recently used ones are evicted
+     */
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The caches which are shared by the caching decorators of the services, so that a mutation through one service can
+ * invalidate the entries which are cached by the others.
+ */
+@Getter
+public class ServiceCache {
+
+    private final LruCache<String, Board> boards;
+    private final LruCache<Integer, Todo> todos;
+    private final LruCache<Integer, Item> items;
+
+    public ServiceCache(int maximumSize, Duration ttl) {
+        this.boards = new LruCache<>(maximumSize, ttl);
+        this.todos = new LruCache<>(maximumSize, ttl);
+        this.items = new LruCache<>(maximumSize, ttl);
+    }
+}
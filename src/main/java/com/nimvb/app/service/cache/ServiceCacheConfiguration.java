@@ -0,0 +1,48 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.service.BoardService;
+import com.nimvb.app.service.BoardServiceImpl;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.ItemServiceImpl;
+import com.nimvb.app.service.TodoService;
+import com.nimvb.app.service.TodoServiceImpl;
+import com.nimvb.app.service.index.ParentIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Registers the caching decorators as the primary services when <code>todo.service.cache.enabled=true</code>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.service.cache", name = "enabled", havingValue = "true")
+public class ServiceCacheConfiguration {
+
+    @Bean
+    public ServiceCache serviceCache(@Value("${todo.service.cache.maximum-size:10000}") int maximumSize,
+                                     @Value("${todo.service.cache.ttl:PT5M}") Duration ttl) {
+        return new ServiceCache(maximumSize, ttl);
+    }
+
+    @Bean
+    @Primary
+    public BoardService cachingBoardService(BoardServiceImpl delegate, ServiceCache serviceCache) {
+        return new CachingBoardService(delegate, serviceCache);
+    }
+
+    @Bean
+    @Primary
+    public TodoService cachingTodoService(TodoServiceImpl delegate, ServiceCache serviceCache) {
+        return new CachingTodoService(delegate, serviceCache);
+    }
+
+    @Bean
+    @Primary
+    public ItemService cachingItemService(ItemServiceImpl delegate, ServiceCache serviceCache, ParentIndex parentIndex) {
+        return new CachingItemService(delegate, serviceCache, parentIndex);
+    }
+}
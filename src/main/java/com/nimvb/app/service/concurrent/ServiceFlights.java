@@ -0,0 +1,100 @@
+package com.nimvb.app.service.concurrent;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.event.EntityListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@link SingleFlight}s of the read paths which are hit by bursts of identical calls.
+ * <p>
+ * A flight of a board is forgotten as soon as the board, one of its todos or any item is changed, so a call which
+ * starts after a mutation has been reported never joins a load which may have started before it. The numbers of the
+ * calls and the coalesced calls are exposed as the <code>todo.service.single-flight.calls</code> and
+ * <code>todo.service.single-flight.coalesced</code> counters tagged by <code>operation</code>.
+ */
+@Getter
+@Component
+public class ServiceFlights implements EntityListener {
+
+    private final SingleFlight<String, Optional<Board>> boards = new SingleFlight<>();
+    private final SingleFlight<String, List<Todo>> todosOfBoard = new SingleFlight<>();
+
+    public ServiceFlights() {
+    }
+
+    @Autowired
+    public ServiceFlights(ObjectProvider<MeterRegistry> registry) {
+        this(registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public ServiceFlights(MeterRegistry registry) {
+        bind(registry, "board.find", boards);
+        bind(registry, "todo.all", todosOfBoard);
+    }
+
+    @Override
+    public void onBoardCreated(Board board) {
+        forget(board.getId());
+    }
+
+    @Override
+    public void onBoardDeleted(Board board) {
+        forget(board.getId());
+    }
+
+    @Override
+    public void onTodoCreated(String boardId, Todo todo) {
+        forget(boardId);
+    }
+
+    @Override
+    public void onTodoUpdated(String boardId, Todo before, Todo after) {
+        forget(boardId);
+    }
+
+    @Override
+    public void onTodoDeleted(String boardId, Todo todo) {
+        forget(boardId);
+    }
+
+    // the board of the todo is not known here, and only the loads in flight are forgotten
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        boards.forgetAll();
+    }
+
+    @Override
+    public void onItemUpdated(Integer todoId, Item before, Item after) {
+        boards.forgetAll();
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        boards.forgetAll();
+    }
+
+    private void forget(String boardId) {
+        boards.forget(boardId);
+        todosOfBoard.forget(boardId);
+    }
+
+    private static void bind(MeterRegistry registry, String operation, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("todo.service.single-flight.calls", flight, SingleFlight::calls)
+                .tag("operation", operation)
+                .register(registry);
+        FunctionCounter.builder("todo.service.single-flight.coalesced", flight, SingleFlight::coalesced)
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
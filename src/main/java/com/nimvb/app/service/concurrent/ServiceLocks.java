@@ -0,0 +1,30 @@
+package com.nimvb.app.service.concurrent;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards the read-modify-write sequences on the live child lists of the boards and the todos.
+ * <p>
+ * A board lock may be held while a todo lock is acquired but never the other way around, the two kinds of keys have
+ * separate stripes so that this order can not be inverted by a hash collision.
+ */
+@Getter
+@Component
+public class ServiceLocks {
+
+    private final StripedLocks boards;
+    private final StripedLocks todos;
+
+    public ServiceLocks() {
+        this(64);
+    }
+
+    @Autowired
+    public ServiceLocks(@Value("${todo.service.locks.stripes:64}") int stripes) {
+        this.boards = new StripedLocks(stripes);
+        this.todos = new StripedLocks(stripes);
+    }
+}
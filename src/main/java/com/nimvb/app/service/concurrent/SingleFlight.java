@@ -0,0 +1,95 @@
+package com.nimvb.app.service.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces the concurrent loads of the same key into one.
+ * <p>
+ * The first caller of a key runs the loader, the callers which arrive while it is running wait for its future instead
+ * of loading the key again and get a copy of its result, or the same exception. Every key has its own future in a
+ * concurrent map, so there is no lock which unrelated keys contend on. A load which completes is forgotten at once,
+ * nothing is cached beyond the flight itself.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the loaded values
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param key the key to be loaded
+     * @param loader loads the value of the key, it must not load the same key of this instance
+     * @param copy makes the copy of the shared value which a waiting caller gets
+     * @return the value which is loaded by this call, or a copy of the value of the load which was already in flight
+     */
+    public V get(K key, Supplier<V> loader, UnaryOperator<V> copy) {
+        calls.increment();
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return copy.apply(await(running));
+        }
+        try {
+            final V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Let the callers which arrive from now on load the key again, e.g. because the entity has been changed since the
+     * running load has started
+     */
+    public void forget(K key) {
+        if (key != null) {
+            flights.remove(key);
+        }
+    }
+
+    public void forgetAll() {
+        flights.clear();
+    }
+
+    /**
+     * @return the number of all the calls
+     */
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the number of the calls which have waited for a load in flight instead of loading themselves
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
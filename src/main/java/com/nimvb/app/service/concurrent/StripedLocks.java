@@ -0,0 +1,87 @@
+package com.nimvb.app.service.concurrent;
+
+import org.springframework.util.Assert;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed number of locks which the keys are spread over, so that unrelated keys rarely contend while the memory
+ * stays bounded regardless of the number of keys
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        Assert.isTrue(stripes > 0, "stripes is not positive");
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public <T> T withLock(Object key, Supplier<T> action) {
+        final ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withLock(Object key, Runnable action) {
+        final ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run <code>action</code> while holding the locks of all the <code>keys</code>. The stripes are locked once each and
+     * in the order of their index, so two callers which lock overlapping keys cannot deadlock each other.
+     */
+    public void withLocks(Collection<?> keys, Runnable action) {
+        final BitSet stripes = new BitSet(locks.length);
+        for (Object key : keys) {
+            stripes.set(indexOf(key));
+        }
+        int locked = -1;
+        try {
+            for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) {
+                locks[i].lock();
+                locked = i;
+            }
+            action.run();
+        } finally {
+            for (int i = locked; i >= 0; i = stripes.previousSetBit(i - 1)) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    int stripes() {
+        return locks.length;
+    }
+
+    private ReentrantLock lockFor(Object key) {
+        return locks[indexOf(key)];
+    }
+
+    private int indexOf(Object key) {
+        final int hash = key == null ? 0 : key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nimvb.app.service.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Consecutive events which are read from the {@link ChangeLog} at once
+ */
+@Value
+public class ChangeBatch {
+
+    /**
+     * events of the batch in ascending sequence order
+     */
+    List<ChangeEvent> events;
+
+    /**
+     * sequence which the next read should start at
+     */
+    long next;
+
+    /**
+     * number of the events which are overwritten before they could be read, the consumer should fall back to a full
+     * listing if it is not zero
+     */
+    long missed;
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+}
@@ -0,0 +1,32 @@
+package com.nimvb.app.service.event;
+
+import lombok.Value;
+
+/**
+ * A single creation, update or deletion which is published to the {@link ChangeLog}
+ */
+@Value
+public class ChangeEvent {
+
+    /**
+     * position of the event in the log, the events of the log have consecutive sequences starting at zero
+     */
+    long sequence;
+
+    ChangeType type;
+
+    /**
+     * id of the board of a todo or of the todo of an item, <code>null</code> for a board
+     */
+    Object parentId;
+
+    /**
+     * id of the created, updated or deleted entity, a <code>String</code> for a board and an <code>Integer</code> otherwise
+     */
+    Object entityId;
+
+    /**
+     * the point in time which the event is published at, in epoch millis
+     */
+    long timestamp;
+}
@@ -0,0 +1,218 @@
+package com.nimvb.app.service.event;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, in-memory log of the creations, updates and deletions of the entities, which lets the consumers follow the changes
+ * instead of polling full listings.
+ * <p>
+ * Every notification becomes a {@link ChangeEvent} with the next sequence. The events are kept in a ring of
+ * <code>todo.service.change-log.capacity</code> slots, rounded up to a power of two; publishing claims a sequence with
+ * a single atomic increment and stores the event in its slot, neither publishers nor readers take a lock. Once the ring
+ * is full the oldest events are overwritten, a reader which falls behind by more than the capacity is told how many
+ * events it has missed.
+ * <p>
+ * Each {@link Subscription} keeps its own cursor, so any number of consumers can read the log at their own pace, and
+ * {@link #read(long, int)} replays the events from any sequence which is still in the ring. The existing entities are
+ * not replayed to the log at startup, since they would flood the ring with creations and push out the changes which
+ * the consumers are waiting for; the log starts with the first change after the startup.
+ */
+@Component
+public class ChangeLog implements EntityListener {
+
+    private final AtomicReferenceArray<ChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+
+    public ChangeLog(@Value("${todo.service.change-log.capacity:65536}") int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean isReplayed() {
+        return false;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return the sequence which the next published event gets
+     */
+    public long head() {
+        return claimed.get();
+    }
+
+    /**
+     * @return a subscription which starts at the next published event
+     */
+    public Subscription subscribe() {
+        return subscribe(head());
+    }
+
+    /**
+     * @param from the sequence of the first event which the subscription should read
+     * @return a subscription which starts at <code>from</code>
+     * @throws IllegalArgumentException if <code>from</code> is negative
+     */
+    public Subscription subscribe(long from) {
+        if (from < 0) {
+            throw new IllegalArgumentException("sequence is negative");
+        }
+        return new Subscription(from);
+    }
+
+    /**
+     * Read the events which are published from <code>from</code> on, stopping at the first one which is claimed but
+     * not stored yet so that a batch never has a gap
+     *
+     * @param from the sequence of the first event to be read
+     * @param max maximum number of events in the batch
+     * @return the events along with the sequence to continue at
+     * @throws IllegalArgumentException if <code>from</code> is negative or <code>max</code> is not positive
+     */
+    public ChangeBatch read(long from, int max) {
+        if (from < 0 || max < 1) {
+            throw new IllegalArgumentException("sequence is negative or max is not positive");
+        }
+        final long head = claimed.get();
+        final long oldest = Math.max(0, head - slots.length());
+        long missed = 0;
+        long sequence = Math.min(from, head);
+        if (sequence < oldest) {
+            missed = oldest - sequence;
+            sequence = oldest;
+        }
+        final long end = Math.min(head, sequence + max);
+        final List<ChangeEvent> events = new ArrayList<>((int) (end - sequence));
+        for (; sequence < end; sequence++) {
+            final ChangeEvent event = slots.get(index(sequence));
+            if (event == null || event.getSequence() < sequence) {
+                break;
+            }
+            if (event.getSequence() > sequence) {
+                // overwritten by a publisher which has lapped the reader
+                missed++;
+                continue;
+            }
+            events.add(event);
+        }
+        return new ChangeBatch(events, sequence, missed);
+    }
+
+    @Override
+    public void onBoardCreated(Board board) {
+        publish(ChangeType.BOARD_CREATED, null, board.getId());
+    }
+
+    @Override
+    public void onBoardDeleted(Board board) {
+        publish(ChangeType.BOARD_DELETED, null, board.getId());
+    }
+
+    @Override
+    public void onTodoCreated(String boardId, Todo todo) {
+        publish(ChangeType.TODO_CREATED, boardId, todo.getId());
+    }
+
+    @Override
+    public void onTodoDeleted(String boardId, Todo todo) {
+        publish(ChangeType.TODO_DELETED, boardId, todo.getId());
+    }
+
+    @Override
+    public void onTodoUpdated(String boardId, Todo before, Todo after) {
+        publish(ChangeType.TODO_UPDATED, boardId, after.getId());
+    }
+
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        publish(ChangeType.ITEM_CREATED, todoId, item.getId());
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        publish(ChangeType.ITEM_DELETED, todoId, item.getId());
+    }
+
+    @Override
+    public void onItemUpdated(Integer todoId, Item before, Item after) {
+        publish(ChangeType.ITEM_UPDATED, todoId, after.getId());
+    }
+
+    private void publish(ChangeType type, Object parentId, Object entityId) {
+        final long sequence = claimed.getAndIncrement();
+        final ChangeEvent event = new ChangeEvent(sequence, type, parentId, entityId, System.currentTimeMillis());
+        final int index = index(sequence);
+        while (true) {
+            final ChangeEvent current = slots.get(index);
+            // a publisher which is a whole lap ahead has already taken the slot
+            if (current != null && current.getSequence() > sequence) {
+                return;
+            }
+            if (slots.compareAndSet(index, current, event)) {
+                return;
+            }
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /**
+     * Cursor of a single consumer over the log, which is not meant to be shared between threads
+     */
+    public final class Subscription {
+
+        private long cursor;
+
+        private Subscription(long cursor) {
+            this.cursor = cursor;
+        }
+
+        /**
+         * @return the sequence which the next poll starts at
+         */
+        public long cursor() {
+            return cursor;
+        }
+
+        /**
+         * Read the next events and move the cursor past them
+         *
+         * @param max maximum number of events in the batch
+         * @return the events which are published since the previous poll, possibly none
+         */
+        public ChangeBatch poll(int max) {
+            final ChangeBatch batch = read(cursor, max);
+            cursor = batch.getNext();
+            return batch;
+        }
+
+        /**
+         * Move the cursor back or forth, e.g. to replay the events from a sequence which the consumer has persisted
+         */
+        public void seek(long sequence) {
+            if (sequence < 0) {
+                throw new IllegalArgumentException("sequence is negative");
+            }
+            cursor = sequence;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.nimvb.app.service.event;
+
+/**
+ * Kind of a {@link ChangeEvent}
+ */
+public enum ChangeType {
+    BOARD_CREATED,
+    BOARD_DELETED,
+    TODO_CREATED,
+    TODO_DELETED,
+    TODO_UPDATED,
+    ITEM_CREATED,
+    ITEM_DELETED,
+    ITEM_UPDATED
+}
@@ -0,0 +1,60 @@
+package com.nimvb.app.service.event;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+
+/**
+ * Callback for the service side structures which are derived from the entities.
+ * <p>
+ * The services notify the listeners synchronously once a mutation has been applied to the repositories. Cascading
+ * deletes are reported leaf first, i.e. every item of a deleted todo is reported before the todo itself and every todo
+ * of a deleted board is reported before the board. The same callbacks are replayed for the existing entities at startup.
+ * <p>
+ * Every callback of a todo or an item is made while the lock which guards the mutation is still held, i.e. the lock
+ * of the board for a created todo and the lock of the todo otherwise, so the creation, the updates and the deletion of
+ * an entity reach the listeners in the order in which they are applied. A listener must therefore not call back into
+ * the services.
+ */
+public interface EntityListener {
+
+    /**
+     * @return whether the existing entities are replayed to the listener at startup, which is not wanted by a listener
+     * which is the durable form of the entities rather than derived from them, or which only follows the changes
+     */
+    default boolean isReplayed() {
+        return true;
+    }
+
+    default void onBoardCreated(Board board) {
+    }
+
+    default void onBoardDeleted(Board board) {
+    }
+
+    default void onTodoCreated(String boardId, Todo todo) {
+    }
+
+    default void onTodoDeleted(String boardId, Todo todo) {
+    }
+
+    /**
+     * @param before the todo as it was before the update
+     * @param after the todo as it is after the update
+     */
+    default void onTodoUpdated(String boardId, Todo before, Todo after) {
+    }
+
+    default void onItemCreated(Integer todoId, Item item) {
+    }
+
+    default void onItemDeleted(Integer todoId, Item item) {
+    }
+
+    /**
+     * @param before the item as it was before the update
+     * @param after the item as it is after the update
+     */
+    default void onItemUpdated(Integer todoId, Item before, Item after) {
+    }
+}
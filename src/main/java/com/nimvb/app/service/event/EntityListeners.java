@@ -0,0 +1,88 @@
+package com.nimvb.app.service.event;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * All the registered {@link EntityListener}s in their order
+ */
+@Component
+public class EntityListeners {
+
+    private final List<EntityListener> listeners;
+
+    @Autowired
+    public EntityListeners(ObjectProvider<EntityListener> listeners) {
+        this(listeners.orderedStream().collect(Collectors.toList()));
+    }
+
+    public EntityListeners(List<EntityListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    public static EntityListeners of(EntityListener... listeners) {
+        return new EntityListeners(List.of(listeners));
+    }
+
+    /**
+     * @return the listeners which the existing entities are replayed to at startup
+     */
+    public EntityListeners replayed() {
+        return new EntityListeners(listeners.stream().filter(EntityListener::isReplayed).collect(Collectors.toList()));
+    }
+
+    public void boardCreated(Board board) {
+        for (EntityListener listener : listeners) {
+            listener.onBoardCreated(board);
+        }
+    }
+
+    public void boardDeleted(Board board) {
+        for (EntityListener listener : listeners) {
+            listener.onBoardDeleted(board);
+        }
+    }
+
+    public void todoCreated(String boardId, Todo todo) {
+        for (EntityListener listener : listeners) {
+            listener.onTodoCreated(boardId, todo);
+        }
+    }
+
+    public void todoDeleted(String boardId, Todo todo) {
+        for (EntityListener listener : listeners) {
+            listener.onTodoDeleted(boardId, todo);
+        }
+    }
+
+    public void todoUpdated(String boardId, Todo before, Todo after) {
+        for (EntityListener listener : listeners) {
+            listener.onTodoUpdated(boardId, before, after);
+        }
+    }
+
+    public void itemCreated(Integer todoId, Item item) {
+        for (EntityListener listener : listeners) {
+            listener.onItemCreated(todoId, item);
+        }
+    }
+
+    public void itemDeleted(Integer todoId, Item item) {
+        for (EntityListener listener : listeners) {
+            listener.onItemDeleted(todoId, item);
+        }
+    }
+
+    public void itemUpdated(Integer todoId, Item before, Item after) {
+        for (EntityListener listener : listeners) {
+            listener.onItemUpdated(todoId, before, after);
+        }
+    }
+}
@@ -1,4 +1,29 @@
 package com.nimvb.app.service.exception;
 
-public class EntityNotFoundException extends RuntimeException{
+public class EntityNotFoundException extends ServiceException{
+
+    public EntityNotFoundException() {
+        this(null, null);
+    }
+
+    public EntityNotFoundException(EntityType entityType, Object entityId) {
+        super(entityType, entityId);
+    }
+
+    public static EntityNotFoundException board(String id) {
+        return new EntityNotFoundException(EntityType.BOARD, id);
+    }
+
+    public static EntityNotFoundException todo(Integer id) {
+        return new EntityNotFoundException(EntityType.TODO, id);
+    }
+
+    public static EntityNotFoundException item(Integer id) {
+        return new EntityNotFoundException(EntityType.ITEM, id);
+    }
+
+    @Override
+    protected String describe() {
+        return entity() + " is not found";
+    }
 }
@@ -0,0 +1,10 @@
+package com.nimvb.app.service.exception;
+
+/**
+ * Kind of the entity which a {@link ServiceException} refers to
+ */
+public enum EntityType {
+    BOARD,
+    TODO,
+    ITEM
+}
@@ -1,4 +1,38 @@
 package com.nimvb.app.service.exception;
 
-public class InvalidTimestampException extends RuntimeException{
+import java.time.Instant;
+
+public class InvalidTimestampException extends ServiceException{
+
+    private final Instant timestamp;
+    private final Instant reference;
+
+    public InvalidTimestampException() {
+        this(null, null, null, null);
+    }
+
+    /**
+     * @param entityType the type of the entity which the timestamp belongs to
+     * @param entityId the id of the entity, or <code>null</code> if the entity is not created yet
+     * @param timestamp the rejected timestamp
+     * @param reference the point in time which the timestamp is expected to be after
+     */
+    public InvalidTimestampException(EntityType entityType, Object entityId, Instant timestamp, Instant reference) {
+        super(entityType, entityId);
+        this.timestamp = timestamp;
+        this.reference = reference;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public Instant getReference() {
+        return reference;
+    }
+
+    @Override
+    protected String describe() {
+        return "timestamp " + timestamp + " of " + entity() + " is before " + reference;
+    }
 }
@@ -0,0 +1,51 @@
+package com.nimvb.app.service.exception;
+
+import java.util.Locale;
+
+/**
+ * Base of the exceptions which are thrown by the services for expected outcomes such as a missing entity.
+ * <p>
+ * The exceptions do not capture a stack trace and do not record suppressed exceptions, they are signals to the caller
+ * rather than failures to be debugged, so throwing one costs a single small allocation. They identify the entity
+ * instead, and the message is only built when it is asked for.
+ */
+public abstract class ServiceException extends RuntimeException {
+
+    private final EntityType entityType;
+    private final Object entityId;
+
+    protected ServiceException(EntityType entityType, Object entityId) {
+        super(null, null, false, false);
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+
+    /**
+     * @return the type of the entity, or <code>null</code> if it is not known
+     */
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return the id of the entity, or <code>null</code> if it is not known or the entity has no id yet
+     */
+    public Object getEntityId() {
+        return entityId;
+    }
+
+    @Override
+    public String getMessage() {
+        return describe();
+    }
+
+    protected abstract String describe();
+
+    protected String entity() {
+        if (entityType == null) {
+            return "entity";
+        }
+        final String name = entityType.name().toLowerCase(Locale.ROOT);
+        return entityId == null ? name : name + " " + entityId;
+    }
+}
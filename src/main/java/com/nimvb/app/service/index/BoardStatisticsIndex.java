@@ -0,0 +1,223 @@
+package com.nimvb.app.service.index;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.event.EntityListener;
+import com.nimvb.app.service.model.BoardStatistics;
+import com.nimvb.app.service.model.BoardSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counters of every board which are kept up to date as the entities are created, updated and deleted.
+ * <p>
+ * The name and color of a board never change once it is created, so they are kept next to its counters and the
+ * summaries of the boards are listed from here rather than from copies of the boards along with their todos.
+ * <p>
+ * The overdue items are counted by keeping the deadlines of the pending items which were not overdue at the last read
+ * in order; a read moves the deadlines which have passed since then into the overdue counter, so every deadline is
+ * moved at most once and a read does not depend on the size of the board.
+ */
+@Component
+public class BoardStatisticsIndex implements EntityListener {
+
+    private final Map<String, Counters> boards = new ConcurrentHashMap<>();
+    private final Map<Integer, String> boardByTodo = new ConcurrentHashMap<>();
+
+    /**
+     * @param boardId the id of the board
+     * @param now the point in time which the deadlines are compared to, in epoch millis
+     * @return the statistics of the board, or empty if the board is not known
+     */
+    public Optional<BoardStatistics> statistics(String boardId, long now) {
+        if (boardId == null) {
+            return Optional.empty();
+        }
+        final Counters counters = boards.get(boardId);
+        return counters == null ? Optional.empty() : Optional.of(counters.read(boardId, now));
+    }
+
+    /**
+     * @return the number of the boards which are known to the index
+     */
+    public int boards() {
+        return boards.size();
+    }
+
+    /**
+     * @return the summaries of the boards which are known to the index, ordered by their id
+     */
+    public List<BoardSummary> summaries() {
+        final List<BoardSummary> summaries = new ArrayList<>(boards.size());
+        boards.forEach((id, counters) -> summaries.add(counters.summary(id)));
+        summaries.sort(Comparator.comparing(BoardSummary::getId));
+        return summaries;
+    }
+
+    /**
+     * Replace the counters of the board by the ones computed from its todos and items
+     *
+     * @param board the board along with its todos and items
+     * @param now the point in time which the deadlines are compared to, in epoch millis
+     * @return the recomputed statistics
+     */
+    public BoardStatistics reset(Board board, long now) {
+        final Counters counters = new Counters(board.getName(), board.getColor());
+        for (Todo todo : board.getTodos()) {
+            if (todo.getId() != null) {
+                boardByTodo.put(todo.getId(), board.getId());
+            }
+            counters.todos++;
+            for (Item item : todo.getItems()) {
+                counters.add(item);
+            }
+        }
+        boards.put(board.getId(), counters);
+        return counters.read(board.getId(), now);
+    }
+
+    @Override
+    public void onBoardCreated(Board board) {
+        if (board.getId() != null) {
+            boards.putIfAbsent(board.getId(), new Counters(board.getName(), board.getColor()));
+        }
+    }
+
+    @Override
+    public void onBoardDeleted(Board board) {
+        if (board.getId() != null) {
+            boards.remove(board.getId());
+        }
+    }
+
+    @Override
+    public void onTodoCreated(String boardId, Todo todo) {
+        if (todo.getId() == null || boardId == null) {
+            return;
+        }
+        boardByTodo.put(todo.getId(), boardId);
+        final Counters counters = boards.get(boardId);
+        if (counters != null) {
+            counters.todo(1);
+        }
+    }
+
+    @Override
+    public void onTodoDeleted(String boardId, Todo todo) {
+        if (todo.getId() != null) {
+            boardByTodo.remove(todo.getId());
+        }
+        final Counters counters = boardId == null ? null : boards.get(boardId);
+        if (counters != null) {
+            counters.todo(-1);
+        }
+    }
+
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        final Counters counters = countersOf(todoId);
+        if (counters != null) {
+            synchronized (counters) {
+                counters.add(item);
+            }
+        }
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        final Counters counters = countersOf(todoId);
+        if (counters != null) {
+            synchronized (counters) {
+                counters.remove(item);
+            }
+        }
+    }
+
+    @Override
+    public void onItemUpdated(Integer todoId, Item before, Item after) {
+        final Counters counters = countersOf(todoId);
+        if (counters != null) {
+            synchronized (counters) {
+                counters.remove(before);
+                counters.add(after);
+            }
+        }
+    }
+
+    private Counters countersOf(Integer todoId) {
+        final String boardId = todoId == null ? null : boardByTodo.get(todoId);
+        return boardId == null ? null : boards.get(boardId);
+    }
+
+    private static final class Counters {
+        private final String name;
+        private final String color;
+        private int todos;
+        private int items;
+        private int completed;
+        private int overdue;
+        private long watermark = Long.MIN_VALUE;
+        // deadline -> number of the pending items which were not overdue at the watermark
+        private final TreeMap<Long, Integer> upcoming = new TreeMap<>();
+
+        private Counters(String name, String color) {
+            this.name = name;
+            this.color = color;
+        }
+
+        private synchronized void todo(int delta) {
+            todos += delta;
+        }
+
+        private void add(Item item) {
+            items++;
+            if (item.isCompleted()) {
+                completed++;
+            } else {
+                pending(item.getDeadlineTimestamp(), 1);
+            }
+        }
+
+        private void remove(Item item) {
+            items--;
+            if (item.isCompleted()) {
+                completed--;
+            } else {
+                pending(item.getDeadlineTimestamp(), -1);
+            }
+        }
+
+        private void pending(long deadline, int delta) {
+            if (deadline < watermark) {
+                overdue += delta;
+            } else {
+                upcoming.merge(deadline, delta, (current, change) -> current + change == 0 ? null : current + change);
+            }
+        }
+
+        private synchronized BoardSummary summary(String boardId) {
+            return new BoardSummary(boardId, name, color, todos);
+        }
+
+        private synchronized BoardStatistics read(String boardId, long now) {
+            if (now > watermark) {
+                final Iterator<Map.Entry<Long, Integer>> passed = upcoming.headMap(now, false).entrySet().iterator();
+                while (passed.hasNext()) {
+                    overdue += passed.next().getValue();
+                    passed.remove();
+                }
+                watermark = now;
+            }
+            return new BoardStatistics(boardId, todos, items, completed, overdue);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.nimvb.app.service.index;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.service.event.EntityListener;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Pending items ordered by their deadline, ties are broken by the id of the item.
+ * <p>
+ * An item leaves the index once it is completed, so the due and overdue items which are listed from here agree with
+ * the overdue items which are counted by the {@link ItemColumns} and the {@link BoardStatisticsIndex}.
+ * <p>
+ * Only the deadline and the id of every item are kept, so a range query touches the index entries of the range only
+ * and the items themselves can be loaded for the returned entries only.
+ */
+@Component
+public class DeadlineIndex implements EntityListener {
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+    /**
+     * Entries whose deadline is in <code>[fromInclusive, toExclusive)</code> in ascending order
+     *
+     * @param fromInclusive lower bound of the deadline in epoch millis
+     * @param toExclusive upper bound of the deadline in epoch millis
+     * @param after the entry which the range should continue after, or <code>null</code> to start at the lower bound
+     * @param limit maximum number of entries
+     * @return at most <code>limit</code> entries of the range
+     */
+    public List<Entry> between(long fromInclusive, long toExclusive, Entry after, int limit) {
+        Entry start = new Entry(fromInclusive, Integer.MIN_VALUE);
+        boolean startInclusive = true;
+        if (after != null && after.compareTo(start) >= 0) {
+            start = after;
+            startInclusive = false;
+        }
+        final Entry end = new Entry(toExclusive, Integer.MIN_VALUE);
+        if (start.compareTo(end) >= 0) {
+            return List.of();
+        }
+        final List<Entry> result = new ArrayList<>(Math.min(limit, 64));
+        final Iterator<Entry> iterator = entries.subSet(start, startInclusive, end, false).iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        if (item.getId() != null && !item.isCompleted()) {
+            entries.add(new Entry(item.getDeadlineTimestamp(), item.getId()));
+        }
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        if (item.getId() != null) {
+            entries.remove(new Entry(item.getDeadlineTimestamp(), item.getId()));
+        }
+    }
+
+    @Override
+    public void onItemUpdated(Integer todoId, Item before, Item after) {
+        if (after.getId() == null
+                || before.getDeadlineTimestamp() == after.getDeadlineTimestamp() && before.isCompleted() == after.isCompleted()) {
+            return;
+        }
+        entries.remove(new Entry(before.getDeadlineTimestamp(), after.getId()));
+        if (!after.isCompleted()) {
+            entries.add(new Entry(after.getDeadlineTimestamp(), after.getId()));
+        }
+    }
+
+    @Value
+    public static class Entry implements Comparable<Entry> {
+        long deadline;
+        int id;
+
+        @Override
+        public int compareTo(Entry other) {
+            final int result = Long.compare(deadline, other.deadline);
+            return result != 0 ? result : Integer.compare(id, other.id);
+        }
+    }
+}
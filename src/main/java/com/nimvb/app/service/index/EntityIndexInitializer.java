@@ -0,0 +1,213 @@
+package com.nimvb.app.service.index;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.service.cache.ServiceCache;
+import com.nimvb.app.service.event.EntityListeners;
+import com.nimvb.app.service.model.WarmUpReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warms the service up once the application context has started: the existing entities are loaded and replayed to the
+ * {@link EntityListeners#replayed() replayed} listeners, so that the service side indexes cover the data which was present before the application
+ * was started, and put into the {@link ServiceCache} if caching is enabled.
+ * <p>
+ * The boards are replayed in parallel on a fork-join pool of <code>todo.service.warm-up.parallelism</code> threads,
+ * <code>0</code> for the common pool, and the todos of a large board are split between the workers as well. The
+ * board, a todo and its items are still reported in this order, which is all the listeners rely on. The caches are
+ * filled afterwards on the calling thread, since every put takes the lock of its cache anyway, and only until each of
+ * them holds as many entries as it can keep without evicting. The generations of the caches are read before the
+ * entities are loaded, so a cache which a mutation has invalidated since then is not filled with the loaded entities. Spring Boot
+ * reports the application ready to accept traffic only after the listeners of the started event have returned, so
+ * readiness is reported once the warm-up is complete. The duration of every phase is recorded as the
+ * <code>todo.service.warm-up</code> timer tagged by <code>phase</code> and is kept in the {@link #report()}.
+ */
+@Component
+public class EntityIndexInitializer {
+
+    static final String LOAD = "load";
+    static final String INDEX = "index";
+    static final String CACHE = "cache";
+    private static final int TODO_THRESHOLD = 16;
+
+    private final BoardRepository boardRepository;
+    private final EntityListeners listeners;
+    private final ServiceCache cache;
+    private final MeterRegistry registry;
+    private final int parallelism;
+    private volatile WarmUpReport report;
+
+    @Autowired
+    public EntityIndexInitializer(BoardRepository boardRepository,
+                                  EntityListeners listeners,
+                                  ObjectProvider<ServiceCache> cache,
+                                  ObjectProvider<MeterRegistry> registry,
+                                  @Value("${todo.service.warm-up.parallelism:0}") int parallelism) {
+        this(boardRepository, listeners, cache.getIfAvailable(), registry.getIfAvailable(() -> Metrics.globalRegistry), parallelism);
+    }
+
+    public EntityIndexInitializer(BoardRepository boardRepository, EntityListeners listeners, ServiceCache cache,
+                                  MeterRegistry registry, int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("parallelism is negative");
+        }
+        this.boardRepository = boardRepository;
+        this.listeners = listeners.replayed();
+        this.cache = cache;
+        this.registry = registry;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the report of the warm-up, or <code>null</code> if it has not completed yet
+     */
+    public WarmUpReport report() {
+        return report;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void initialize() {
+        final Map<String, Duration> phases = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        final long[] generations = cache == null ? null : new long[]{
+                cache.getBoards().generation(), cache.getTodos().generation(), cache.getItems().generation()};
+        final List<Board> boards = new ArrayList<>(boardRepository.findAll());
+        start = phase(phases, LOAD, start);
+        final ForkJoinPool pool = parallelism == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(parallelism);
+        try {
+            final LongAdder todos = new LongAdder();
+            final LongAdder items = new LongAdder();
+            pool.invoke(new Boards(boards, 0, boards.size(), todos, items));
+            start = phase(phases, INDEX, start);
+            if (cache != null) {
+                cache(boards, generations);
+                phase(phases, CACHE, start);
+            }
+            report = new WarmUpReport(boards.size(), todos.intValue(), items.intValue(), phases);
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private void cache(List<Board> boards, long[] generations) {
+        int boardRoom = cache.getBoards().maximumSize();
+        int todoRoom = cache.getTodos().maximumSize();
+        int itemRoom = cache.getItems().maximumSize();
+        // a cache which has been invalidated since the entities were loaded is left empty
+        for (Board board : boards) {
+            if (boardRoom == 0 && todoRoom == 0 && itemRoom == 0) {
+                return;
+            }
+            if (boardRoom > 0) {
+                boardRoom = cache.getBoards().putIfCurrent(board.getId(), board, generations[0]) ? boardRoom - 1 : 0;
+            }
+            for (Todo todo : board.getTodos()) {
+                if (todoRoom > 0) {
+                    todoRoom = cache.getTodos().putIfCurrent(todo.getId(), todo, generations[1]) ? todoRoom - 1 : 0;
+                }
+                for (Item item : todo.getItems()) {
+                    if (itemRoom == 0) {
+                        break;
+                    }
+                    itemRoom = cache.getItems().putIfCurrent(item.getId(), item, generations[2]) ? itemRoom - 1 : 0;
+                }
+            }
+        }
+    }
+
+    private long phase(Map<String, Duration> phases, String name, long start) {
+        final long end = System.nanoTime();
+        phases.put(name, Duration.ofNanos(end - start));
+        Timer.builder("todo.service.warm-up")
+                .tag("phase", name)
+                .register(registry)
+                .record(end - start, TimeUnit.NANOSECONDS);
+        return end;
+    }
+
+    private final class Boards extends RecursiveAction {
+        private final List<Board> boards;
+        private final int from;
+        private final int to;
+        private final LongAdder todos;
+        private final LongAdder items;
+
+        private Boards(List<Board> boards, int from, int to, LongAdder todos, LongAdder items) {
+            this.boards = boards;
+            this.from = from;
+            this.to = to;
+            this.todos = todos;
+            this.items = items;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new Boards(boards, from, middle, todos, items), new Boards(boards, middle, to, todos, items));
+            } else if (to > from) {
+                final Board board = boards.get(from);
+                listeners.boardCreated(board);
+                new Todos(board.getId(), board.getTodos(), 0, board.getTodos().size(), todos, items).compute();
+            }
+        }
+    }
+
+    private final class Todos extends RecursiveAction {
+        private final String boardId;
+        private final List<Todo> source;
+        private final int from;
+        private final int to;
+        private final LongAdder todos;
+        private final LongAdder items;
+
+        private Todos(String boardId, List<Todo> source, int from, int to, LongAdder todos, LongAdder items) {
+            this.boardId = boardId;
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.todos = todos;
+            this.items = items;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TODO_THRESHOLD) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new Todos(boardId, source, from, middle, todos, items), new Todos(boardId, source, middle, to, todos, items));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                final Todo todo = source.get(i);
+                listeners.todoCreated(boardId, todo);
+                for (Item item : todo.getItems()) {
+                    listeners.itemCreated(todo.getId(), item);
+                }
+                todos.increment();
+                items.add(todo.getItems().size());
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.nimvb.app.service.index;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing map from <code>int</code> to <code>int</code> with linear probing, so neither the keys nor the
+ * values are boxed and an entry costs two array slots. Removal shifts the following entries of the probe sequence
+ * back instead of leaving tombstones.
+ * <p>
+ * Not thread-safe.
+ */
+final class IntIntMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int threshold;
+
+    IntIntMap() {
+        this(16);
+    }
+
+    IntIntMap(int expected) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, (int) (expected / LOAD_FACTOR)) - 1) << 1));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(int key) {
+        return used[index(key)];
+    }
+
+    /**
+     * @param key the key
+     * @param absent the value which is returned if there is no entry for the key
+     * @return the value of the key or <code>absent</code>
+     */
+    int get(int key, int absent) {
+        final int index = index(key);
+        return used[index] ? values[index] : absent;
+    }
+
+    void put(int key, int value) {
+        final int index = index(key);
+        if (used[index]) {
+            values[index] = value;
+            return;
+        }
+        used[index] = true;
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * @return the removed value or <code>absent</code>
+     */
+    int remove(int key, int absent) {
+        int index = index(key);
+        if (!used[index]) {
+            return absent;
+        }
+        final int removed = values[index];
+        final int mask = keys.length - 1;
+        // shift the following entries of the probe sequence into the gap
+        int next = (index + 1) & mask;
+        while (used[next]) {
+            final int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[index] = false;
+        size--;
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * @return the approximate number of bytes which are retained by the arrays of the map
+     */
+    long footprint() {
+        return (long) keys.length * (Integer.BYTES * 2 + 1);
+    }
+
+    private int index(int key) {
+        final int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+        final boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                final int index = index(oldKeys[i]);
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,217 @@
+package com.nimvb.app.service.index;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.service.event.EntityListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The timestamps and the completed flag of every item, stored column-wise in primitive arrays.
+ * <p>
+ * An item occupies one slot of each column, the slot of an id is found through an {@link IntIntMap} and the slots of
+ * deleted items are reused. A scan walks the columns sequentially without touching the item objects, and an item costs
+ * a few dozen bytes along with its slot instead of the object header, boxed id and strings of a full {@link Item}.
+ * <p>
+ * The items are spread by their id over a fixed number of stripes, each with its own columns and lock, so the
+ * creations and deletions of unrelated items rarely contend.
+ */
+@Component
+public class ItemColumns implements EntityListener {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public ItemColumns() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean contains(int id) {
+        final Stripe stripe = stripeOf(id);
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.slots.containsKey(id);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param id the id of the item
+     * @param absent the value which is returned if the item is not known
+     * @return the deadline of the item in epoch millis or <code>absent</code>
+     */
+    public long deadline(int id, long absent) {
+        final Stripe stripe = stripeOf(id);
+        stripe.lock.readLock().lock();
+        try {
+            final int slot = stripe.slots.get(id, -1);
+            return slot < 0 ? absent : stripe.deadline[slot];
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param id the id of the item
+     * @param absent the value which is returned if the item is not known
+     * @return the creation timestamp of the item in epoch millis or <code>absent</code>
+     */
+    public long creation(int id, long absent) {
+        final Stripe stripe = stripeOf(id);
+        stripe.lock.readLock().lock();
+        try {
+            final int slot = stripe.slots.get(id, -1);
+            return slot < 0 ? absent : stripe.creation[slot];
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the item is known and completed
+     */
+    public boolean completed(int id) {
+        final Stripe stripe = stripeOf(id);
+        stripe.lock.readLock().lock();
+        try {
+            final int slot = stripe.slots.get(id, -1);
+            return slot >= 0 && stripe.completed.get(slot);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param now the point in time which the deadlines are compared to, in epoch millis
+     * @return the number of the items which are not completed and whose deadline is before <code>now</code>
+     */
+    public int countOverdue(long now) {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                // a free slot has the latest possible deadline, so the loop needs no check of its own for it
+                for (int slot = 0; slot < stripe.high; slot++) {
+                    if (stripe.deadline[slot] < now && !stripe.completed.get(slot)) {
+                        count++;
+                    }
+                }
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                size += stripe.slots.size();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the approximate number of bytes which are retained by the columns and the slot maps
+     */
+    public long footprint() {
+        long footprint = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                footprint += (long) stripe.creation.length * Long.BYTES * 2 + (long) stripe.free.length * Integer.BYTES
+                        + stripe.completed.size() / Byte.SIZE + stripe.slots.footprint();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return footprint;
+    }
+
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        if (item.getId() == null) {
+            return;
+        }
+        final Stripe stripe = stripeOf(item.getId());
+        stripe.lock.writeLock().lock();
+        try {
+            int slot = stripe.slots.get(item.getId(), -1);
+            if (slot < 0) {
+                slot = stripe.freeCount > 0 ? stripe.free[--stripe.freeCount] : stripe.grow();
+                stripe.slots.put(item.getId(), slot);
+            }
+            stripe.creation[slot] = item.getCreationTimestamp();
+            stripe.deadline[slot] = item.getDeadlineTimestamp();
+            stripe.completed.set(slot, item.isCompleted());
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onItemUpdated(Integer todoId, Item before, Item after) {
+        onItemCreated(todoId, after);
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        if (item.getId() == null) {
+            return;
+        }
+        final Stripe stripe = stripeOf(item.getId());
+        stripe.lock.writeLock().lock();
+        try {
+            final int slot = stripe.slots.remove(item.getId(), -1);
+            if (slot < 0) {
+                return;
+            }
+            stripe.deadline[slot] = Long.MAX_VALUE;
+            stripe.completed.clear(slot);
+            if (stripe.freeCount == stripe.free.length) {
+                stripe.free = Arrays.copyOf(stripe.free, stripe.freeCount << 1);
+            }
+            stripe.free[stripe.freeCount++] = slot;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private Stripe stripeOf(int id) {
+        // the ids are assigned sequentially, so their low bits spread them evenly
+        return stripes[id & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final IntIntMap slots = new IntIntMap();
+        private long[] creation = new long[16];
+        private long[] deadline = new long[16];
+        private final BitSet completed = new BitSet();
+        private int high;
+        private int[] free = new int[4];
+        private int freeCount;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private int grow() {
+            if (high == creation.length) {
+                final int capacity = creation.length + (creation.length >> 1);
+                creation = Arrays.copyOf(creation, capacity);
+                deadline = Arrays.copyOf(deadline, capacity);
+            }
+            return high++;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.nimvb.app.service.index;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.event.EntityListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reverse mapping from an item to its todo and from a todo to its board.
+ * <p>
+ * Entities which do not carry an id are not indexed. The item ids are mapped through {@link IntIntMap}s, so there is
+ * no boxed key, value or map entry per item, and are spread over a fixed number of stripes, each with its own map and
+ * lock, so the creations and deletions of unrelated items rarely contend.
+ */
+@Component
+public class ParentIndex implements EntityListener {
+
+    private static final int STRIPES = 64;
+
+    private final IntIntMap[] todoByItem = new IntIntMap[STRIPES];
+    private final ReadWriteLock[] itemLocks = new ReadWriteLock[STRIPES];
+    private final Map<Integer, String> boardByTodo = new ConcurrentHashMap<>();
+
+    public ParentIndex() {
+        for (int i = 0; i < STRIPES; i++) {
+            todoByItem[i] = new IntIntMap();
+            itemLocks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * @param itemId the id of the item
+     * @param absent the value which is returned if the item is not known
+     * @return the id of the todo which owns the item or <code>absent</code>
+     */
+    public int todoOf(int itemId, int absent) {
+        final int stripe = stripeOf(itemId);
+        itemLocks[stripe].readLock().lock();
+        try {
+            return todoByItem[stripe].get(itemId, absent);
+        } finally {
+            itemLocks[stripe].readLock().unlock();
+        }
+    }
+
+    /**
+     * @param todoId the id of the todo
+     * @return the id of the board which owns the todo
+     */
+    public Optional<String> boardOf(Integer todoId) {
+        return todoId == null ? Optional.empty() : Optional.ofNullable(boardByTodo.get(todoId));
+    }
+
+    /**
+     * @return the number of the todos whose board is known
+     */
+    public int todos() {
+        return boardByTodo.size();
+    }
+
+    /**
+     * @return the number of the items whose todo is known
+     */
+    public int items() {
+        int items = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            itemLocks[stripe].readLock().lock();
+            try {
+                items += todoByItem[stripe].size();
+            } finally {
+                itemLocks[stripe].readLock().unlock();
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public void onTodoCreated(String boardId, Todo todo) {
+        if (todo.getId() != null && boardId != null) {
+            boardByTodo.put(todo.getId(), boardId);
+        }
+    }
+
+    @Override
+    public void onTodoDeleted(String boardId, Todo todo) {
+        if (todo.getId() != null) {
+            boardByTodo.remove(todo.getId());
+        }
+    }
+
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        if (item.getId() != null && todoId != null) {
+            final int stripe = stripeOf(item.getId());
+            itemLocks[stripe].writeLock().lock();
+            try {
+                todoByItem[stripe].put(item.getId(), todoId);
+            } finally {
+                itemLocks[stripe].writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        if (item.getId() != null) {
+            final int stripe = stripeOf(item.getId());
+            itemLocks[stripe].writeLock().lock();
+            try {
+                todoByItem[stripe].remove(item.getId(), 0);
+            } finally {
+                itemLocks[stripe].writeLock().unlock();
+            }
+        }
+    }
+
+    private static int stripeOf(int itemId) {
+        // the ids are assigned sequentially, so their low bits spread them evenly
+        return itemId & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,452 @@
+package com.nimvb.app.service.index;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.event.EntityListener;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over the names of the boards and todos and the titles and descriptions of the items.
+ * <p>
+ * The texts are split into lower case terms of letters and digits. Every term maps to a posting list of the ids of
+ * the entities which contain it, kept as sorted primitive arrays along with the weight of the term in each entity; a
+ * term in a name or a title weighs {@value #NAME_WEIGHT}, in a description {@value #TEXT_WEIGHT}, per occurrence.
+ * The boards are given int keys by the index since their ids are strings.
+ * <p>
+ * A query matches the entities which contain every term of the query, or a term which starts with it for prefix
+ * queries, and ranks them by the sum of the weights of the matched terms.
+ * <p>
+ * The terms of a field are spread over a fixed number of stripes, each with its own sorted map and lock, so the
+ * mutations of unrelated entities rarely contend and an exact search only locks the stripes of its terms. A mutation
+ * which touches several terms is therefore not atomic for a concurrent search, which may see some of its terms.
+ */
+@Component
+public class SearchIndex implements EntityListener {
+
+    static final int NAME_WEIGHT = 2;
+    static final int TEXT_WEIGHT = 1;
+    private static final int STRIPES = 16;
+
+    private final Field boards = new Field();
+    private final Field todos = new Field();
+    private final Field items = new Field();
+    private final Map<String, Integer> boardKeys = new HashMap<>();
+    private final Map<Integer, String> boardIds = new HashMap<>();
+    private int nextBoardKey;
+    private final ReadWriteLock boardLock = new ReentrantReadWriteLock();
+
+    /**
+     * @param query the terms which the items should contain
+     * @param prefix whether the terms of the query are prefixes of the terms of the items
+     * @param after the hit which the result should continue after, or <code>null</code> to start at the best hit
+     * @param limit maximum number of hits
+     * @return at most <code>limit</code> hits, the id of a hit is the id of the item
+     */
+    public List<Hit> items(String query, boolean prefix, Hit after, int limit) {
+        return search(items, query, prefix, after, limit);
+    }
+
+    /**
+     * @see #items(String, boolean, Hit, int)
+     */
+    public List<Hit> todos(String query, boolean prefix, Hit after, int limit) {
+        return search(todos, query, prefix, after, limit);
+    }
+
+    /**
+     * Same as {@link #items(String, boolean, Hit, int)}, the id of a hit is the key which {@link #boardId(int)} resolves
+     */
+    public List<Hit> boards(String query, boolean prefix, Hit after, int limit) {
+        return search(boards, query, prefix, after, limit);
+    }
+
+    /**
+     * @param key the id of a board hit
+     * @return the id of the board, or <code>null</code> if the board is removed since
+     */
+    public String boardId(int key) {
+        boardLock.readLock().lock();
+        try {
+            return boardIds.get(key);
+        } finally {
+            boardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of the distinct terms of all the entities
+     */
+    public int terms() {
+        return boards.terms() + todos.terms() + items.terms();
+    }
+
+    @Override
+    public void onBoardCreated(Board board) {
+        if (board.getId() == null) {
+            return;
+        }
+        final int key;
+        boardLock.writeLock().lock();
+        try {
+            if (boardKeys.containsKey(board.getId())) {
+                return;
+            }
+            key = nextBoardKey++;
+            boardKeys.put(board.getId(), key);
+            boardIds.put(key, board.getId());
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+        boards.add(key, board.getName(), NAME_WEIGHT);
+    }
+
+    @Override
+    public void onBoardDeleted(Board board) {
+        final Integer key;
+        boardLock.writeLock().lock();
+        try {
+            key = board.getId() == null ? null : boardKeys.remove(board.getId());
+            if (key != null) {
+                boardIds.remove(key);
+            }
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+        if (key != null) {
+            boards.remove(key, board.getName());
+        }
+    }
+
+    @Override
+    public void onTodoCreated(String boardId, Todo todo) {
+        if (todo.getId() == null) {
+            return;
+        }
+        todos.add(todo.getId(), todo.getName(), NAME_WEIGHT);
+    }
+
+    @Override
+    public void onTodoDeleted(String boardId, Todo todo) {
+        if (todo.getId() == null) {
+            return;
+        }
+        todos.remove(todo.getId(), todo.getName());
+    }
+
+    @Override
+    public void onTodoUpdated(String boardId, Todo before, Todo after) {
+        if (after.getId() == null) {
+            return;
+        }
+        todos.remove(after.getId(), before.getName());
+        todos.add(after.getId(), after.getName(), NAME_WEIGHT);
+    }
+
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        if (item.getId() == null) {
+            return;
+        }
+        items.add(item.getId(), item.getTitle(), NAME_WEIGHT);
+        items.add(item.getId(), item.getDescription(), TEXT_WEIGHT);
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        if (item.getId() == null) {
+            return;
+        }
+        items.remove(item.getId(), item.getTitle());
+        items.remove(item.getId(), item.getDescription());
+    }
+
+    @Override
+    public void onItemUpdated(Integer todoId, Item before, Item after) {
+        if (after.getId() == null) {
+            return;
+        }
+        items.remove(after.getId(), before.getTitle());
+        items.remove(after.getId(), before.getDescription());
+        items.add(after.getId(), after.getTitle(), NAME_WEIGHT);
+        items.add(after.getId(), after.getDescription(), TEXT_WEIGHT);
+    }
+
+    private List<Hit> search(Field field, String query, boolean prefix, Hit after, int limit) {
+        final Collection<String> terms = terms(query);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Postings matches = null;
+        for (String term : terms) {
+            matches = prefix ? intersect(matches, field.prefixed(term)) : field.intersect(term, matches);
+            if (matches == null || matches.size == 0) {
+                return List.of();
+            }
+        }
+        final PriorityQueue<Hit> window = new PriorityQueue<>(Math.min(limit, matches.size) + 1, (a, b) -> b.compareTo(a));
+        for (int i = 0; i < matches.size; i++) {
+            final Hit hit = new Hit(matches.weights[i], matches.ids[i]);
+            if (after != null && hit.compareTo(after) <= 0) {
+                continue;
+            }
+            if (window.size() < limit) {
+                window.offer(hit);
+            } else if (hit.compareTo(window.peek()) < 0) {
+                window.poll();
+                window.offer(hit);
+            }
+        }
+        final List<Hit> result = new ArrayList<>(window);
+        result.sort(null);
+        return result;
+    }
+
+    private static Postings intersect(Postings result, Postings postings) {
+        return result == null || postings == null ? postings : result.intersect(postings);
+    }
+
+    static Collection<String> terms(String text) {
+        return frequencies(text).keySet();
+    }
+
+    /**
+     * @param text the text to be split
+     * @return the distinct terms of the text in their order along with the number of their occurrences
+     */
+    static Map<String, Integer> frequencies(String text) {
+        if (text == null || text.isEmpty()) {
+            return Map.of();
+        }
+        final Map<String, Integer> frequencies = new LinkedHashMap<>();
+        final String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            final boolean part = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (part && start < 0) {
+                start = i;
+            } else if (!part && start >= 0) {
+                frequencies.merge(lower.substring(start, i), 1, Integer::sum);
+                start = -1;
+            }
+        }
+        return frequencies;
+    }
+
+    /**
+     * A matching entity, ordered by descending score and then by ascending id
+     */
+    @Value
+    public static class Hit implements Comparable<Hit> {
+        int score;
+        int id;
+
+        @Override
+        public int compareTo(Hit other) {
+            final int result = Integer.compare(other.score, score);
+            return result != 0 ? result : Integer.compare(id, other.id);
+        }
+    }
+
+    private static final class Field {
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        private Field() {
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        private void add(int id, String text, int weight) {
+            for (Map.Entry<String, Integer> term : frequencies(text).entrySet()) {
+                final Stripe stripe = stripeOf(term.getKey());
+                stripe.lock.writeLock().lock();
+                try {
+                    stripe.terms.computeIfAbsent(term.getKey(), key -> new Postings()).add(id, weight * term.getValue());
+                } finally {
+                    stripe.lock.writeLock().unlock();
+                }
+            }
+        }
+
+        private void remove(int id, String text) {
+            for (String term : SearchIndex.terms(text)) {
+                final Stripe stripe = stripeOf(term);
+                stripe.lock.writeLock().lock();
+                try {
+                    final Postings postings = stripe.terms.get(term);
+                    if (postings != null && postings.remove(id) && postings.size == 0) {
+                        stripe.terms.remove(term);
+                    }
+                } finally {
+                    stripe.lock.writeLock().unlock();
+                }
+            }
+        }
+
+        /**
+         * @param result the matches of the previous terms, or <code>null</code> for the first term
+         * @return the matches which contain the <code>term</code> as well, or <code>null</code> if none does
+         */
+        private Postings intersect(String term, Postings result) {
+            final Stripe stripe = stripeOf(term);
+            stripe.lock.readLock().lock();
+            try {
+                final Postings postings = stripe.terms.get(term);
+                if (postings == null) {
+                    return null;
+                }
+                return result == null ? postings.copy() : result.intersect(postings);
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+
+        private Postings prefixed(String prefix) {
+            Postings result = null;
+            for (Stripe stripe : stripes) {
+                stripe.lock.readLock().lock();
+                try {
+                    for (Postings postings : stripe.terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                        result = result == null ? postings.copy() : result.union(postings);
+                    }
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+            return result;
+        }
+
+        private int terms() {
+            int terms = 0;
+            for (Stripe stripe : stripes) {
+                stripe.lock.readLock().lock();
+                try {
+                    terms += stripe.terms.size();
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+            return terms;
+        }
+
+        private Stripe stripeOf(String term) {
+            final int hash = term.hashCode();
+            return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        }
+    }
+
+    private static final class Stripe {
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Ids in ascending order along with the weight of the term in each of them
+     */
+    private static final class Postings {
+        private int[] ids;
+        private int[] weights;
+        private int size;
+
+        private Postings() {
+            this(new int[4], new int[4], 0);
+        }
+
+        private Postings(int[] ids, int[] weights, int size) {
+            this.ids = ids;
+            this.weights = weights;
+            this.size = size;
+        }
+
+        private void add(int id, int weight) {
+            final int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] += weight;
+                return;
+            }
+            final int insertion = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            System.arraycopy(weights, insertion, weights, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            weights[insertion] = weight;
+            size++;
+        }
+
+        private boolean remove(int id) {
+            final int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            if (size > 4 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+                weights = Arrays.copyOf(weights, weights.length / 2);
+            }
+            return true;
+        }
+
+        private Postings copy() {
+            return new Postings(Arrays.copyOf(ids, size), Arrays.copyOf(weights, size), size);
+        }
+
+        private Postings intersect(Postings other) {
+            final int[] resultIds = new int[Math.min(size, other.size)];
+            final int[] resultWeights = new int[resultIds.length];
+            int count = 0;
+            for (int i = 0, j = 0; i < size && j < other.size; ) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (ids[i] > other.ids[j]) {
+                    j++;
+                } else {
+                    resultIds[count] = ids[i];
+                    resultWeights[count++] = weights[i++] + other.weights[j++];
+                }
+            }
+            return new Postings(resultIds, resultWeights, count);
+        }
+
+        private Postings union(Postings other) {
+            final int[] resultIds = new int[size + other.size];
+            final int[] resultWeights = new int[resultIds.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && ids[i] < other.ids[j])) {
+                    resultIds[count] = ids[i];
+                    resultWeights[count++] = weights[i++];
+                } else if (i == size || ids[i] > other.ids[j]) {
+                    resultIds[count] = other.ids[j];
+                    resultWeights[count++] = other.weights[j++];
+                } else {
+                    // an entity which has several terms with the prefix is ranked by the best of them
+                    resultIds[count] = ids[i];
+                    resultWeights[count++] = Math.max(weights[i++], other.weights[j++]);
+                }
+            }
+            return new Postings(resultIds, resultWeights, count);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.nimvb.app.service.metrics;
+
+import com.nimvb.app.service.cache.LruCache;
+import com.nimvb.app.service.cache.ServiceCache;
+import com.nimvb.app.service.index.BoardStatisticsIndex;
+import com.nimvb.app.service.index.ParentIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exposes the state of the service side structures as meters when <code>todo.service.metrics.enabled</code> is set.
+ * <p>
+ * The number of the entities is read from the indexes, which are kept up to date by the listeners and the warm-up, as
+ * the <code>todo.service.entities</code> gauge tagged by <code>entity</code>. The counters of every cache of the
+ * {@link ServiceCache}, if caching is enabled, are exposed as <code>todo.service.cache.*</code> tagged by
+ * <code>cache</code>. The meters are read when they are published, nothing is recorded on the paths of the services.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.service.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMeters {
+
+    @Autowired
+    public ServiceMeters(ObjectProvider<MeterRegistry> registry,
+                         ParentIndex parentIndex,
+                         BoardStatisticsIndex statisticsIndex,
+                         ObjectProvider<ServiceCache> cache) {
+        this(registry.getIfAvailable(() -> Metrics.globalRegistry), parentIndex, statisticsIndex, cache.getIfAvailable());
+    }
+
+    ServiceMeters(MeterRegistry registry, ParentIndex parentIndex, BoardStatisticsIndex statisticsIndex, ServiceCache cache) {
+        entities(registry, "board", statisticsIndex, BoardStatisticsIndex::boards);
+        entities(registry, "todo", parentIndex, ParentIndex::todos);
+        entities(registry, "item", parentIndex, ParentIndex::items);
+        if (cache != null) {
+            cache(registry, "boards", cache.getBoards());
+            cache(registry, "todos", cache.getTodos());
+            cache(registry, "items", cache.getItems());
+        }
+    }
+
+    private static <T> void entities(MeterRegistry registry, String entity, T index, ToDoubleFunction<T> count) {
+        Gauge.builder("todo.service.entities", index, count)
+                .tag("entity", entity)
+                .register(registry);
+    }
+
+    private static void cache(MeterRegistry registry, String name, LruCache<?, ?> cache) {
+        FunctionCounter.builder("todo.service.cache.hits", cache, target -> target.stats().getHits())
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("todo.service.cache.misses", cache, target -> target.stats().getMisses())
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("todo.service.cache.evictions", cache, target -> target.stats().getEvictions())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("todo.service.cache.size", cache, LruCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,120 @@
+package com.nimvb.app.service.metrics;
+
+import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.exception.InvalidTimestampException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service implementations.
+ * <p>
+ * The timers are tagged by <code>operation</code> (e.g. <code>todo.create</code>) and <code>outcome</code> and the sizes
+ * of the collections returned by <code>all</code> are recorded as a distribution summary; the number of the entities
+ * is exposed by the {@link ServiceMeters}. The instrumentation follows <code>todo.service.metrics.enabled</code>; when
+ * it is disabled, the only cost left is the proxy call and a field read.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String SUCCESS = "success";
+    static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    public ServiceMetricsAspect(ObjectProvider<MeterRegistry> registry,
+                                @Value("${todo.service.metrics.enabled:true}") boolean enabled) {
+        this(registry.getIfAvailable(() -> Metrics.globalRegistry), enabled);
+    }
+
+    ServiceMetricsAspect(MeterRegistry registry, boolean enabled) {
+        this.registry = registry;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Around("execution(public * com.nimvb.app.service.*ServiceImpl.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        final Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        final Meters target = meters.computeIfAbsent(method, this::register);
+        final long start = System.nanoTime();
+        String outcome = OTHER;
+        try {
+            final Object result = joinPoint.proceed();
+            outcome = SUCCESS;
+            if (target.size != null && result instanceof Collection) {
+                final int size = ((Collection<?>) result).size();
+                target.size.record(size);
+            }
+            return result;
+        } catch (EntityNotFoundException e) {
+            outcome = EntityNotFoundException.class.getSimpleName();
+            throw e;
+        } catch (InvalidTimestampException e) {
+            outcome = InvalidTimestampException.class.getSimpleName();
+            throw e;
+        } catch (IllegalArgumentException e) {
+            outcome = IllegalArgumentException.class.getSimpleName();
+            throw e;
+        } finally {
+            target.timer(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Meters register(Method method) {
+        final String service = method.getDeclaringClass().getSimpleName().replaceFirst("Service(Impl)?$", "").toLowerCase(Locale.ROOT);
+        final String operation = service + "." + method.getName();
+        DistributionSummary size = null;
+        if (method.getName().equals("all")) {
+            size = DistributionSummary.builder("todo.service.result.size")
+                    .tag("operation", operation)
+                    .register(registry);
+        }
+        return new Meters(registry, operation, size);
+    }
+
+    private static final class Meters {
+        private final MeterRegistry registry;
+        private final String operation;
+        private final DistributionSummary size;
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+        private Meters(MeterRegistry registry, String operation, DistributionSummary size) {
+            this.registry = registry;
+            this.operation = operation;
+            this.size = size;
+        }
+
+        private Timer timer(String outcome) {
+            return timers.computeIfAbsent(outcome, tag -> Timer.builder("todo.service.operation")
+                    .tag("operation", operation)
+                    .tag("outcome", tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.nimvb.app.service.model;
+
+import lombok.Value;
+
+/**
+ * Aggregated counts of a single board
+ */
+@Value
+public class BoardStatistics {
+
+    String boardId;
+
+    /**
+     * number of the todos of the board
+     */
+    int todos;
+
+    /**
+     * number of the items of all the todos of the board
+     */
+    int items;
+
+    /**
+     * number of the items which are completed
+     */
+    int completedItems;
+
+    /**
+     * number of the items which are not completed and whose deadline has passed
+     */
+    int overdueItems;
+}
@@ -0,0 +1,19 @@
+package com.nimvb.app.service.model;
+
+import com.nimvb.app.database.model.Board;
+import lombok.Value;
+
+/**
+ * Listing view of a board which does not carry its todos
+ */
+@Value
+public class BoardSummary {
+    String id;
+    String name;
+    String color;
+    int todoCount;
+
+    public static BoardSummary of(Board board) {
+        return new BoardSummary(board.getId(), board.getName(), board.getColor(), board.getTodos().size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.nimvb.app.service.model;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies of the entities which are handed out by the services.
+ * <p>
+ * Every copy is a plain instance of the entity class, so the call sites stay monomorphic and no enclosing instance
+ * is captured, unlike copies made with anonymous double-brace initialized subclasses.
+ */
+public final class EntityCopies {
+
+    private EntityCopies() {
+    }
+
+    /**
+     * @param source the board to be copied
+     * @return a copy of the board along with copies of its todos and their items
+     */
+    public static Board copy(Board source) {
+        final Board board = new Board();
+        board.setId(source.getId());
+        board.setName(source.getName());
+        board.setColor(source.getColor());
+        final List<Todo> todos = new ArrayList<>(source.getTodos().size());
+        for (Todo todo : source.getTodos()) {
+            todos.add(copy(todo));
+        }
+        board.setTodos(todos);
+        return board;
+    }
+
+    /**
+     * @param source the todo to be copied
+     * @return a copy of the todo along with copies of its items
+     */
+    public static Todo copy(Todo source) {
+        final Todo todo = shallow(source);
+        final List<Item> items = new ArrayList<>(source.getItems().size());
+        for (Item item : source.getItems()) {
+            items.add(copy(item));
+        }
+        todo.setItems(items);
+        return todo;
+    }
+
+    /**
+     * @param source the todo to be copied
+     * @return a copy of the todo which shares the items list of the <code>source</code>
+     */
+    public static Todo shallow(Todo source) {
+        final Todo todo = new Todo();
+        todo.setId(source.getId());
+        todo.setName(source.getName());
+        todo.setCreationTimestamp(source.getCreationTimestamp());
+        todo.setItems(source.getItems());
+        return todo;
+    }
+
+    /**
+     * @param source the item to be copied
+     * @return a copy of the item
+     */
+    public static Item copy(Item source) {
+        final Item item = new Item();
+        item.setId(source.getId());
+        item.setTitle(source.getTitle());
+        item.setDescription(source.getDescription());
+        item.setCreationTimestamp(source.getCreationTimestamp());
+        item.setDeadlineTimestamp(source.getDeadlineTimestamp());
+        item.setCompleted(source.isCompleted());
+        return item;
+    }
+}
@@ -0,0 +1,288 @@
+package com.nimvb.app.service.model;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.concurrent.StripedLocks;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Read-only views of the entities which are handed out by the services instead of copies.
+ * <p>
+ * A view shares the state of its source, so creating it costs one small object no matter how large the graph below
+ * it is, and the todos and items of a view are wrapped lazily as they are accessed. Every setter of a view and every
+ * mutator of its lists throws {@link UnsupportedOperationException}, so a caller cannot change the source through it.
+ * The views subclass the entities, so each of them still carries the empty list which the entity allocates itself.
+ * <p>
+ * A view over a private copy, e.g. the one which is kept by a cache, never changes. The services hand out views over
+ * the live entities instead, whose fields reflect the later changes of the entities. The list of the items of a live
+ * todo is changed by other threads under the lock of the todo, so a view over a live todo is made with
+ * {@link #of(Todo, StripedLocks)} and takes the references to the items under that lock whenever they are accessed;
+ * the items themselves are not copied but wrapped as they are accessed.
+ */
+public final class EntityViews {
+
+    private EntityViews() {
+    }
+
+    /**
+     * @param source the board to be viewed
+     * @return a read-only view of the board, or the <code>source</code> itself if it is a view already
+     */
+    public static Board of(Board source) {
+        return source instanceof BoardView ? source : new BoardView(source);
+    }
+
+    /**
+     * @param source the todo to be viewed
+     * @return a read-only view of the todo, or the <code>source</code> itself if it is a view already
+     */
+    public static Todo of(Todo source) {
+        return source instanceof TodoView ? source : new TodoView(source);
+    }
+
+    /**
+     * @param source the live todo to be viewed
+     * @param locks the locks of the todos which guard the items of the <code>source</code>
+     * @return a read-only view of the todo whose list of items is snapshot under the lock of the todo when it is accessed
+     */
+    public static Todo of(Todo source, StripedLocks locks) {
+        return new TodoView(source, locks);
+    }
+
+    /**
+     * @param source the item to be viewed
+     * @return a read-only view of the item, or the <code>source</code> itself if it is a view already
+     */
+    public static Item of(Item source) {
+        return source instanceof ItemView ? source : new ItemView(source);
+    }
+
+    /**
+     * @param source the todos to be viewed
+     * @return an unmodifiable list which wraps every todo of the <code>source</code> when it is accessed
+     */
+    public static List<Todo> todos(List<Todo> source) {
+        return new ViewList<>(source, EntityViews::of);
+    }
+
+    /**
+     * @param source the live todos to be viewed
+     * @param locks the locks of the todos which guard their items
+     * @return an unmodifiable list which wraps every todo of the <code>source</code> as {@link #of(Todo, StripedLocks)}
+     * does when it is accessed
+     */
+    public static List<Todo> todos(List<Todo> source, StripedLocks locks) {
+        return new ViewList<>(source, todo -> of(todo, locks));
+    }
+
+    /**
+     * @param source the items to be viewed
+     * @return an unmodifiable list which wraps every item of the <code>source</code> when it is accessed
+     */
+    public static List<Item> items(List<Item> source) {
+        return new ViewList<>(source, EntityViews::of);
+    }
+
+    private static final class ViewList<T> extends AbstractList<T> implements RandomAccess {
+
+        private final List<T> source;
+        private final Function<T, T> view;
+
+        private ViewList(List<T> source, Function<T, T> view) {
+            this.source = source;
+            this.view = view;
+        }
+
+        @Override
+        public T get(int index) {
+            return view.apply(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+    }
+
+    private static final class BoardView extends Board {
+
+        private final Board source;
+
+        private BoardView(Board source) {
+            this.source = source;
+        }
+
+        @Override
+        public String getId() {
+            return source.getId();
+        }
+
+        @Override
+        public String getName() {
+            return source.getName();
+        }
+
+        @Override
+        public String getColor() {
+            return source.getColor();
+        }
+
+        @Override
+        public List<Todo> getTodos() {
+            return todos(source.getTodos());
+        }
+
+        @Override
+        public void setId(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setName(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setColor(String color) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setTodos(List<Todo> todos) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class TodoView extends Todo {
+
+        private final Todo source;
+        private final StripedLocks locks;
+
+        private TodoView(Todo source) {
+            this(source, null);
+        }
+
+        private TodoView(Todo source, StripedLocks locks) {
+            this.source = source;
+            this.locks = locks;
+        }
+
+        @Override
+        public Integer getId() {
+            return source.getId();
+        }
+
+        @Override
+        public String getName() {
+            return source.getName();
+        }
+
+        @Override
+        public long getCreationTimestamp() {
+            return source.getCreationTimestamp();
+        }
+
+        @Override
+        public List<Item> getItems() {
+            if (locks == null) {
+                return items(source.getItems());
+            }
+            return items(locks.withLock(source.getId(), () -> Arrays.asList(source.getItems().toArray(new Item[0]))));
+        }
+
+        @Override
+        public void setId(Integer id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setName(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setCreationTimestamp(long creationTimestamp) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setItems(List<Item> items) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class ItemView extends Item {
+
+        private final Item source;
+
+        private ItemView(Item source) {
+            this.source = source;
+        }
+
+        @Override
+        public Integer getId() {
+            return source.getId();
+        }
+
+        @Override
+        public String getTitle() {
+            return source.getTitle();
+        }
+
+        @Override
+        public String getDescription() {
+            return source.getDescription();
+        }
+
+        @Override
+        public long getCreationTimestamp() {
+            return source.getCreationTimestamp();
+        }
+
+        @Override
+        public long getDeadlineTimestamp() {
+            return source.getDeadlineTimestamp();
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return source.isCompleted();
+        }
+
+        @Override
+        public void setId(Integer id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setTitle(String title) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setDescription(String description) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setCreationTimestamp(long creationTimestamp) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setDeadlineTimestamp(long deadlineTimestamp) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setCompleted(boolean completed) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.nimvb.app.service.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Fields of an item which should be changed, a <code>null</code> field is left as it is
+ */
+@Value
+public class ItemPatch {
+    String title;
+    String description;
+    Instant deadline;
+    Boolean completed;
+
+    public static ItemPatch completed(boolean completed) {
+        return new ItemPatch(null, null, null, completed);
+    }
+
+    public static ItemPatch deadline(Instant deadline) {
+        return new ItemPatch(null, null, deadline, null);
+    }
+
+    public boolean isEmpty() {
+        return title == null && description == null && deadline == null && completed == null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.nimvb.app.service.model;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Information which is required to create a new item
+ */
+@Value
+public class ItemSpec {
+    @NonNull
+    String title;
+    @NonNull
+    String description;
+    @NonNull
+    Instant deadline;
+}
@@ -0,0 +1,21 @@
+package com.nimvb.app.service.model;
+
+import com.nimvb.app.database.model.Item;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Listing view of an item which does not carry its description
+ */
+@Value
+public class ItemSummary {
+    Integer id;
+    String title;
+    Instant deadline;
+    boolean completed;
+
+    public static ItemSummary of(Item item) {
+        return new ItemSummary(item.getId(), item.getTitle(), Instant.ofEpochMilli(item.getDeadlineTimestamp()), item.isCompleted());
+    }
+}
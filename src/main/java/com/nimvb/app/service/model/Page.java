@@ -0,0 +1,28 @@
+package com.nimvb.app.service.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated listing
+ *
+ * @param <T> type of the entities in the page
+ */
+@Value
+public class Page<T> {
+
+    /**
+     * entities of the page in ascending key order
+     */
+    List<T> content;
+
+    /**
+     * opaque continuation token which should be passed to the next call, or <code>null</code> if this is the last page
+     */
+    String next;
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nimvb.app.service.model;
+
+/**
+ * How the terms of a search query are matched against the terms of the entities
+ */
+public enum SearchMode {
+
+    /**
+     * a term of the query matches the same term only
+     */
+    TERM,
+
+    /**
+     * a term of the query matches every term which starts with it
+     */
+    PREFIX
+}
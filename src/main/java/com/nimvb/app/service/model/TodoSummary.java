@@ -0,0 +1,40 @@
+package com.nimvb.app.service.model;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Listing view of a todo which does not carry its items
+ */
+@Value
+public class TodoSummary {
+    Integer id;
+    String name;
+    long creationTimestamp;
+    int itemCount;
+    int completedItemCount;
+
+    /**
+     * the earliest deadline of the items which are not completed, or <code>null</code> if there is no such item
+     */
+    Instant nextDeadline;
+
+    public static TodoSummary of(Todo todo) {
+        int completed = 0;
+        long next = Long.MAX_VALUE;
+        boolean pending = false;
+        for (Item item : todo.getItems()) {
+            if (item.isCompleted()) {
+                completed++;
+            } else {
+                pending = true;
+                next = Math.min(next, item.getDeadlineTimestamp());
+            }
+        }
+        return new TodoSummary(todo.getId(), todo.getName(), todo.getCreationTimestamp(), todo.getItems().size(), completed,
+                pending ? Instant.ofEpochMilli(next) : null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.nimvb.app.service.model;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outcome of the warm-up which runs at startup
+ */
+@Value
+public class WarmUpReport {
+    int boards;
+    int todos;
+    int items;
+
+    /**
+     * duration of every phase in the order in which the phases have run
+     */
+    Map<String, Duration> phases;
+
+    public Duration getTotal() {
+        return phases.values().stream().reduce(Duration.ZERO, Duration::plus);
+    }
+}
@@ -0,0 +1,274 @@
+package com.nimvb.app.service.persistence;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.event.ChangeType;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Binary format of the records of the {@link OperationJournal}.
+ * <p>
+ * A record is the length of its body, the CRC32 of the body and the body itself. The body starts with the code of the
+ * {@link ChangeType} followed by the ids of the entity and its parent and, for creations and updates, the fields of
+ * the entity; a string is its UTF-8 length, <code>-1</code> for <code>null</code>, and its bytes. A length of zero
+ * marks the end of the written part of a segment, and a record whose checksum does not match is a torn write which
+ * ends the journal as well.
+ */
+final class JournalCodec {
+
+    static final int HEADER = Integer.BYTES * 2;
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Receiver of the decoded records
+     */
+    interface Visitor {
+
+        void boardCreated(Board board);
+
+        void boardDeleted(String id);
+
+        void todoCreated(String boardId, Todo todo);
+
+        void todoUpdated(String boardId, Integer id, String name);
+
+        void todoDeleted(String boardId, Integer id);
+
+        void itemCreated(Integer todoId, Item item);
+
+        void itemUpdated(Integer todoId, Item item);
+
+        void itemDeleted(Integer todoId, Integer id);
+    }
+
+    /**
+     * Encode a record into <code>target</code>, which is cleared first and flipped afterwards
+     *
+     * @return the buffer which holds the record, <code>target</code> or a larger replacement of it
+     */
+    static ByteBuffer board(ByteBuffer target, ChangeType type, Board board) {
+        ByteBuffer buffer = begin(target, type);
+        buffer = string(buffer, board.getId());
+        if (type == ChangeType.BOARD_CREATED) {
+            buffer = string(buffer, board.getName());
+            buffer = string(buffer, board.getColor());
+        }
+        return end(buffer);
+    }
+
+    static ByteBuffer todo(ByteBuffer target, ChangeType type, String boardId, Todo todo) {
+        ByteBuffer buffer = begin(target, type);
+        buffer = string(buffer, boardId);
+        buffer = ensure(buffer, Integer.BYTES + Long.BYTES);
+        buffer.putInt(todo.getId());
+        if (type != ChangeType.TODO_DELETED) {
+            buffer.putLong(todo.getCreationTimestamp());
+            buffer = string(buffer, todo.getName());
+        }
+        return end(buffer);
+    }
+
+    static ByteBuffer item(ByteBuffer target, ChangeType type, Integer todoId, Item item) {
+        ByteBuffer buffer = begin(target, type);
+        buffer = ensure(buffer, Integer.BYTES * 2 + Long.BYTES * 2 + 1);
+        buffer.putInt(todoId);
+        buffer.putInt(item.getId());
+        if (type != ChangeType.ITEM_DELETED) {
+            buffer.putLong(item.getCreationTimestamp());
+            buffer.putLong(item.getDeadlineTimestamp());
+            buffer.put((byte) (item.isCompleted() ? 1 : 0));
+            buffer = string(buffer, item.getTitle());
+            buffer = string(buffer, item.getDescription());
+        }
+        return end(buffer);
+    }
+
+    /**
+     * Decode the records of <code>source</code> from its position on
+     *
+     * @return whether the records end at a proper end marker or the end of the buffer, rather than at a torn record
+     */
+    static boolean read(ByteBuffer source, Visitor visitor) {
+        final CRC32 crc = new CRC32();
+        while (source.remaining() >= HEADER) {
+            final int length = source.getInt();
+            if (length == 0) {
+                return true;
+            }
+            final int checksum = source.getInt();
+            if (length < 0 || length > source.remaining()) {
+                return false;
+            }
+            final ByteBuffer body = source.slice();
+            body.limit(length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return false;
+            }
+            source.position(source.position() + length);
+            try {
+                decode(body, visitor);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void decode(ByteBuffer body, Visitor visitor) {
+        final ChangeType type = type(body.get());
+        switch (type) {
+            case BOARD_CREATED: {
+                final Board board = new Board();
+                board.setId(string(body));
+                board.setName(string(body));
+                board.setColor(string(body));
+                visitor.boardCreated(board);
+                break;
+            }
+            case BOARD_DELETED:
+                visitor.boardDeleted(string(body));
+                break;
+            case TODO_CREATED:
+            case TODO_UPDATED: {
+                final String boardId = string(body);
+                final Todo todo = new Todo();
+                todo.setId(body.getInt());
+                todo.setCreationTimestamp(body.getLong());
+                todo.setName(string(body));
+                if (type == ChangeType.TODO_CREATED) {
+                    visitor.todoCreated(boardId, todo);
+                } else {
+                    visitor.todoUpdated(boardId, todo.getId(), todo.getName());
+                }
+                break;
+            }
+            case TODO_DELETED: {
+                final String boardId = string(body);
+                visitor.todoDeleted(boardId, body.getInt());
+                break;
+            }
+            case ITEM_CREATED:
+            case ITEM_UPDATED: {
+                final Integer todoId = body.getInt();
+                final Item item = new Item();
+                item.setId(body.getInt());
+                item.setCreationTimestamp(body.getLong());
+                item.setDeadlineTimestamp(body.getLong());
+                item.setCompleted(body.get() != 0);
+                item.setTitle(string(body));
+                item.setDescription(string(body));
+                if (type == ChangeType.ITEM_CREATED) {
+                    visitor.itemCreated(todoId, item);
+                } else {
+                    visitor.itemUpdated(todoId, item);
+                }
+                break;
+            }
+            case ITEM_DELETED: {
+                final Integer todoId = body.getInt();
+                visitor.itemDeleted(todoId, body.getInt());
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("unknown record type " + type);
+        }
+    }
+
+    private static ByteBuffer begin(ByteBuffer target, ChangeType type) {
+        target.clear();
+        target.position(HEADER);
+        target.put(code(type));
+        return target;
+    }
+
+    private static ByteBuffer end(ByteBuffer buffer) {
+        final int length = buffer.position() - HEADER;
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().flip().position(HEADER));
+        buffer.putInt(0, length);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static ByteBuffer string(ByteBuffer buffer, String value) {
+        if (value == null) {
+            return ensure(buffer, Integer.BYTES).putInt(-1);
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return ensure(buffer, Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes);
+    }
+
+    private static String string(ByteBuffer body) {
+        final int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        final ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        return larger.put(buffer.flip());
+    }
+
+    // explicit codes, so reordering the constants of ChangeType does not change the format
+    private static byte code(ChangeType type) {
+        switch (type) {
+            case BOARD_CREATED:
+                return 1;
+            case BOARD_DELETED:
+                return 2;
+            case TODO_CREATED:
+                return 3;
+            case TODO_DELETED:
+                return 4;
+            case TODO_UPDATED:
+                return 5;
+            case ITEM_CREATED:
+                return 6;
+            case ITEM_DELETED:
+                return 7;
+            case ITEM_UPDATED:
+                return 8;
+            default:
+                throw new IllegalArgumentException("unknown change type " + type);
+        }
+    }
+
+    private static ChangeType type(byte code) {
+        switch (code) {
+            case 1:
+                return ChangeType.BOARD_CREATED;
+            case 2:
+                return ChangeType.BOARD_DELETED;
+            case 3:
+                return ChangeType.TODO_CREATED;
+            case 4:
+                return ChangeType.TODO_DELETED;
+            case 5:
+                return ChangeType.TODO_UPDATED;
+            case 6:
+                return ChangeType.ITEM_CREATED;
+            case 7:
+                return ChangeType.ITEM_DELETED;
+            case 8:
+                return ChangeType.ITEM_UPDATED;
+            default:
+                throw new IllegalArgumentException("unknown record code " + code);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.nimvb.app.service.persistence;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.event.ChangeType;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The entity graph which the records of the {@link OperationJournal} fold into, the boards keep their order of creation.
+ * <p>
+ * A creation of an entity which is already known is ignored, so folding a record twice does not duplicate it.
+ */
+final class JournalState implements JournalCodec.Visitor {
+
+    private final Map<String, Board> boards = new LinkedHashMap<>();
+    private final Map<Integer, Todo> todos = new HashMap<>();
+    private final Map<Integer, Item> items = new HashMap<>();
+
+    Map<String, Board> boards() {
+        return boards;
+    }
+
+    int todos() {
+        return todos.size();
+    }
+
+    int items() {
+        return items.size();
+    }
+
+    /**
+     * Add a board along with its todos and items as they are, e.g. a copy of a board of the repository
+     */
+    void load(Board board) {
+        boards.put(board.getId(), board);
+        for (Todo todo : board.getTodos()) {
+            todos.put(todo.getId(), todo);
+            for (Item item : todo.getItems()) {
+                items.put(item.getId(), item);
+            }
+        }
+    }
+
+    /**
+     * Encode the state as creation records, which is the content of a snapshot
+     *
+     * @param sink receiver of every encoded record, the buffer is reused for the next record
+     */
+    void write(Consumer<ByteBuffer> sink) {
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        for (Board board : boards.values()) {
+            buffer = JournalCodec.board(buffer, ChangeType.BOARD_CREATED, board);
+            sink.accept(buffer);
+            for (Todo todo : board.getTodos()) {
+                buffer = JournalCodec.todo(buffer, ChangeType.TODO_CREATED, board.getId(), todo);
+                sink.accept(buffer);
+                for (Item item : todo.getItems()) {
+                    buffer = JournalCodec.item(buffer, ChangeType.ITEM_CREATED, todo.getId(), item);
+                    sink.accept(buffer);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void boardCreated(Board board) {
+        boards.putIfAbsent(board.getId(), board);
+    }
+
+    @Override
+    public void boardDeleted(String id) {
+        final Board board = boards.remove(id);
+        if (board != null) {
+            for (Todo todo : board.getTodos()) {
+                forget(todo);
+            }
+        }
+    }
+
+    @Override
+    public void todoCreated(String boardId, Todo todo) {
+        final Board board = boards.get(boardId);
+        if (board != null && !todos.containsKey(todo.getId())) {
+            board.getTodos().add(todo);
+            todos.put(todo.getId(), todo);
+        }
+    }
+
+    @Override
+    public void todoUpdated(String boardId, Integer id, String name) {
+        final Todo todo = todos.get(id);
+        if (todo != null) {
+            todo.setName(name);
+        }
+    }
+
+    @Override
+    public void todoDeleted(String boardId, Integer id) {
+        final Todo todo = todos.get(id);
+        final Board board = boards.get(boardId);
+        if (todo != null && board != null) {
+            board.getTodos().removeIf(candidate -> candidate == todo);
+            forget(todo);
+        }
+    }
+
+    @Override
+    public void itemCreated(Integer todoId, Item item) {
+        final Todo todo = todos.get(todoId);
+        if (todo != null && !items.containsKey(item.getId())) {
+            todo.getItems().add(item);
+            items.put(item.getId(), item);
+        }
+    }
+
+    @Override
+    public void itemUpdated(Integer todoId, Item item) {
+        final Item target = items.get(item.getId());
+        if (target != null) {
+            target.setTitle(item.getTitle());
+            target.setDescription(item.getDescription());
+            target.setDeadlineTimestamp(item.getDeadlineTimestamp());
+            target.setCompleted(item.isCompleted());
+        }
+    }
+
+    @Override
+    public void itemDeleted(Integer todoId, Integer id) {
+        final Item item = items.remove(id);
+        final Todo todo = todos.get(todoId);
+        if (item != null && todo != null) {
+            todo.getItems().removeIf(candidate -> candidate == item);
+        }
+    }
+
+    private void forget(Todo todo) {
+        todos.remove(todo.getId());
+        for (Item item : todo.getItems()) {
+            items.remove(item.getId());
+        }
+    }
+}
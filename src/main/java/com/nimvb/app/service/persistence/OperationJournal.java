@@ -0,0 +1,514 @@
+package com.nimvb.app.service.persistence;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
+import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.event.ChangeType;
+import com.nimvb.app.service.event.EntityListener;
+import com.nimvb.app.service.model.EntityCopies;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of the mutations, which is the durable form of the entities in journal mode, i.e. when
+ * <code>todo.service.journal.enabled</code> is set.
+ * <p>
+ * Every creation, update and deletion which the services report is appended as a small record, see
+ * {@link JournalCodec}, to the active segment: a file of <code>segment-size</code> bytes in <code>directory</code>
+ * which is mapped into memory, so an append is a copy into the page cache and survives a crash of the process at once.
+ * The appended records are forced to the disk by a committer thread every <code>commit-interval</code>, all the
+ * records of an interval at once; {@link #sync()} forces them immediately.
+ * <p>
+ * A full segment is sealed and a new one is started. Once the sealed segments exceed <code>compaction-threshold</code>
+ * bytes a compactor thread folds them into the snapshot, which holds a creation record for every live entity, and
+ * deletes them. The name of a snapshot carries the sequence of the last segment which it covers, so a crash during a
+ * compaction never folds a segment twice.
+ * <p>
+ * On startup the snapshot and the segments after it are folded into the entity graph which is written to the empty
+ * repositories, every entity once and with the id which it was recorded with, so the ids which the clients hold stay
+ * valid across a restart; a fresh snapshot then replaces the old files. Repositories which are not empty are taken as
+ * they are and only snapshotted. The journal records from then on, before any service can be called, and is not one
+ * of the listeners which the existing entities are replayed to.
+ * <p>
+ * The journal is the first of the listeners and the services report a mutation as the last write of the operation,
+ * while they hold the lock which guards it. The records of an entity are therefore appended in the order in which its
+ * mutations are applied, and a record which cannot be appended, e.g. since the journal is closed, fails the operation
+ * and undoes its other writes instead of leaving a change behind which is not journaled.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OperationJournal implements EntityListener, InitializingBean, DisposableBean {
+
+    private static final Pattern SEGMENT = Pattern.compile("segment-(\\d+)\\.journal");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.journal");
+
+    private final BoardRepository boardRepository;
+    private final TodoRepository todoRepository;
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitInterval;
+    private final long compactionThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition compactable = lock.newCondition();
+    private final ReentrantLock compacting = new ReentrantLock();
+    private ByteBuffer scratch = ByteBuffer.allocate(512);
+    private MappedByteBuffer active;
+    private long activeSequence;
+    private final Map<Long, Long> sealed = new LinkedHashMap<>();
+    private long sealedBytes;
+    private long written;
+    private long durable;
+    private boolean recording;
+    private boolean closed;
+    private Thread committer;
+    private Thread compactor;
+
+    @Autowired
+    public OperationJournal(BoardRepository boardRepository,
+                            TodoRepository todoRepository,
+                            ItemRepository itemRepository,
+                            @Value("${todo.service.journal.enabled:false}") boolean enabled,
+                            @Value("${todo.service.journal.directory:journal}") String directory,
+                            @Value("${todo.service.journal.segment-size:67108864}") int segmentSize,
+                            @Value("${todo.service.journal.commit-interval:PT0.005S}") Duration commitInterval,
+                            @Value("${todo.service.journal.compaction-threshold:268435456}") long compactionThreshold) {
+        if (enabled && (segmentSize < 1024 || commitInterval.isNegative() || compactionThreshold < 0)) {
+            throw new IllegalArgumentException("segment size is less than 1024 bytes or a duration or threshold is negative");
+        }
+        this.boardRepository = boardRepository;
+        this.todoRepository = todoRepository;
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.commitInterval = commitInterval.toNanos();
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Restore the repositories from the journal and open a new segment
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            final long last = recover();
+            lock.lock();
+            try {
+                open(last + 1);
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        committer = new Thread(this::commit, "todo-journal-committer");
+        committer.setDaemon(true);
+        committer.start();
+        compactor = new Thread(this::compactWhenDue, "todo-journal-compactor");
+        compactor.setDaemon(true);
+        compactor.start();
+        lock.lock();
+        try {
+            recording = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isReplayed() {
+        return false;
+    }
+
+    /**
+     * Force all the appended records to the disk
+     */
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (active != null && durable < written) {
+                active.force();
+                durable = written;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fold the sealed segments into the snapshot now
+     */
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        final List<Long> segments;
+        lock.lock();
+        try {
+            segments = new ArrayList<>(sealed.keySet());
+        } finally {
+            lock.unlock();
+        }
+        compact(segments);
+    }
+
+    /**
+     * @return the number of the segments which are not folded into the snapshot yet, the active one included
+     */
+    public int segments() {
+        lock.lock();
+        try {
+            return sealed.size() + (active == null ? 0 : 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onBoardCreated(Board board) {
+        append(buffer -> JournalCodec.board(buffer, ChangeType.BOARD_CREATED, board));
+    }
+
+    @Override
+    public void onBoardDeleted(Board board) {
+        append(buffer -> JournalCodec.board(buffer, ChangeType.BOARD_DELETED, board));
+    }
+
+    @Override
+    public void onTodoCreated(String boardId, Todo todo) {
+        append(buffer -> JournalCodec.todo(buffer, ChangeType.TODO_CREATED, boardId, todo));
+    }
+
+    @Override
+    public void onTodoUpdated(String boardId, Todo before, Todo after) {
+        append(buffer -> JournalCodec.todo(buffer, ChangeType.TODO_UPDATED, boardId, after));
+    }
+
+    @Override
+    public void onTodoDeleted(String boardId, Todo todo) {
+        append(buffer -> JournalCodec.todo(buffer, ChangeType.TODO_DELETED, boardId, todo));
+    }
+
+    @Override
+    public void onItemCreated(Integer todoId, Item item) {
+        append(buffer -> JournalCodec.item(buffer, ChangeType.ITEM_CREATED, todoId, item));
+    }
+
+    @Override
+    public void onItemUpdated(Integer todoId, Item before, Item after) {
+        append(buffer -> JournalCodec.item(buffer, ChangeType.ITEM_UPDATED, todoId, after));
+    }
+
+    @Override
+    public void onItemDeleted(Integer todoId, Item item) {
+        append(buffer -> JournalCodec.item(buffer, ChangeType.ITEM_DELETED, todoId, item));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            closed = true;
+            compactable.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (committer != null) {
+            LockSupport.unpark(committer);
+            committer.join();
+        }
+        if (compactor != null) {
+            compactor.join();
+        }
+        sync();
+    }
+
+    private void append(UnaryOperator<ByteBuffer> encoder) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!recording || closed) {
+                throw new IllegalStateException("journal is not open");
+            }
+            scratch = encoder.apply(scratch);
+            if (scratch.remaining() > segmentSize - JournalCodec.HEADER) {
+                throw new IllegalArgumentException("record is larger than a segment");
+            }
+            if (active.remaining() < scratch.remaining() + JournalCodec.HEADER) {
+                roll();
+            }
+            written += scratch.remaining();
+            active.put(scratch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        active.force();
+        durable = written;
+        sealed.put(activeSequence, (long) active.position());
+        sealedBytes += active.position();
+        open(activeSequence + 1);
+        if (sealedBytes >= compactionThreshold) {
+            compactable.signal();
+        }
+    }
+
+    private void open(long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment(sequence), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed, the file is zero filled so the end marker is implied
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        activeSequence = sequence;
+    }
+
+    private void commit() {
+        while (true) {
+            LockSupport.parkNanos(commitInterval);
+            final MappedByteBuffer segment;
+            final long target;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (durable == written) {
+                    continue;
+                }
+                segment = active;
+                target = written;
+            } finally {
+                lock.unlock();
+            }
+            // a roll in the meantime has forced the segment already
+            segment.force();
+            lock.lock();
+            try {
+                durable = Math.max(durable, target);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void compactWhenDue() {
+        while (true) {
+            final List<Long> segments;
+            lock.lock();
+            try {
+                while (!closed && sealedBytes < compactionThreshold) {
+                    compactable.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                segments = new ArrayList<>(sealed.keySet());
+            } finally {
+                lock.unlock();
+            }
+            compact(segments);
+        }
+    }
+
+    private void compact(List<Long> segments) {
+        if (segments.isEmpty()) {
+            return;
+        }
+        compacting.lock();
+        try {
+            final TreeMap<Long, Path> snapshots = files(SNAPSHOT);
+            final JournalState state = new JournalState();
+            if (!snapshots.isEmpty()) {
+                fold(snapshots.lastEntry().getValue(), state);
+            }
+            final long covered = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+            long last = covered;
+            for (long sequence : segments) {
+                if (sequence > covered) {
+                    fold(segment(sequence), state);
+                    last = Math.max(last, sequence);
+                }
+            }
+            snapshot(state, last);
+            lock.lock();
+            try {
+                for (long sequence : segments) {
+                    final Long size = sealed.remove(sequence);
+                    sealedBytes -= size == null ? 0 : size;
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (long sequence : segments) {
+                Files.deleteIfExists(segment(sequence));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            compacting.unlock();
+        }
+    }
+
+    /**
+     * @return the sequence of the last segment which the new snapshot covers
+     */
+    private long recover() throws IOException {
+        final TreeMap<Long, Path> snapshots = files(SNAPSHOT);
+        final TreeMap<Long, Path> segments = files(SEGMENT);
+        final long covered = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+        final long last = Math.max(covered, segments.isEmpty() ? 0 : segments.lastKey());
+        final JournalState state = new JournalState();
+        final boolean empty = boardRepository.findAll().isEmpty();
+        if (empty) {
+            if (!snapshots.isEmpty()) {
+                fold(snapshots.lastEntry().getValue(), state);
+            }
+            for (Path segment : segments.tailMap(covered, false).values()) {
+                fold(segment, state);
+            }
+            restore(state);
+        } else {
+            for (Board board : boardRepository.findAll()) {
+                state.load(EntityCopies.copy(board));
+            }
+        }
+        snapshot(state, last);
+        for (Path segment : segments.values()) {
+            Files.deleteIfExists(segment);
+        }
+        return last;
+    }
+
+    private void restore(JournalState state) {
+        for (Board board : state.boards().values()) {
+            final List<Todo> todos = new ArrayList<>(board.getTodos().size());
+            for (Todo todo : board.getTodos()) {
+                final List<Item> items = new ArrayList<>(todo.getItems().size());
+                for (Item item : todo.getItems()) {
+                    items.add(itemRepository.save(item));
+                }
+                todo.setItems(items);
+                todos.add(todoRepository.save(todo));
+            }
+            board.setTodos(todos);
+            boardRepository.save(board);
+        }
+    }
+
+    private void snapshot(JournalState state, long last) throws IOException {
+        final Path temporary = directory.resolve("snapshot.tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer block = ByteBuffer.allocateDirect(1 << 16);
+            state.write(record -> {
+                try {
+                    if (block.remaining() < record.remaining()) {
+                        drain(channel, block);
+                    }
+                    if (block.remaining() < record.remaining()) {
+                        while (record.hasRemaining()) {
+                            channel.write(record);
+                        }
+                    } else {
+                        block.put(record);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            drain(channel, block);
+            channel.force(true);
+        }
+        final Path target = directory.resolve(String.format("snapshot-%019d.journal", last));
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Map.Entry<Long, Path> snapshot : files(SNAPSHOT).entrySet()) {
+            if (snapshot.getKey() < last) {
+                Files.deleteIfExists(snapshot.getValue());
+            }
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer block) throws IOException {
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear();
+    }
+
+    private static void fold(Path file, JournalState state) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            JournalCodec.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), state);
+        }
+    }
+
+    private TreeMap<Long, Path> files(Pattern pattern) throws IOException {
+        final TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                final Matcher matcher = pattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+
+    private Path segment(long sequence) {
+        return directory.resolve(String.format("segment-%019d.journal", sequence));
+    }
+}
@@ -0,0 +1,93 @@
+package com.nimvb.app.service.persistence;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rewrites of the parent entities whose list of children has been changed in place.
+ * <p>
+ * The services change the todos of a board or the items of a todo on the live parent and then write the whole parent.
+ * In journal mode, i.e. when <code>todo.service.journal.enabled</code> is set, the {@link OperationJournal} records
+ * the change itself and the parent is not written at all, so the cost of a mutation does not depend on the size of its
+ * parent. The entity which is created, updated or deleted is still written by the services.
+ */
+@Component
+public class ParentWriter {
+
+    private final BoardRepository boardRepository;
+    private final TodoRepository todoRepository;
+    private final TodoWriteBehind writeBehind;
+    private final boolean journaled;
+
+    @Autowired
+    public ParentWriter(BoardRepository boardRepository,
+                        TodoRepository todoRepository,
+                        TodoWriteBehind writeBehind,
+                        @Value("${todo.service.journal.enabled:false}") boolean journaled) {
+        this.boardRepository = boardRepository;
+        this.todoRepository = todoRepository;
+        this.writeBehind = writeBehind;
+        this.journaled = journaled;
+    }
+
+    /**
+     * @return a writer which writes every parent immediately
+     */
+    public static ParentWriter direct(BoardRepository boardRepository, TodoRepository todoRepository) {
+        return new ParentWriter(boardRepository, todoRepository, TodoWriteBehind.direct(todoRepository), false);
+    }
+
+    public boolean isJournaled() {
+        return journaled;
+    }
+
+    /**
+     * Write the board whose todos have been changed through {@link BoardRepository#save(Board)}
+     */
+    public void save(Board board) {
+        if (!journaled) {
+            boardRepository.save(board);
+        }
+    }
+
+    /**
+     * Write the board whose todos have been changed through {@link BoardRepository#persist(Board)}
+     */
+    public void persist(Board board) {
+        if (!journaled) {
+            boardRepository.persist(board);
+        }
+    }
+
+    /**
+     * Write the todo whose items have been changed
+     */
+    public void persist(Todo todo) {
+        if (!journaled) {
+            todoRepository.persist(todo);
+        }
+    }
+
+    /**
+     * Same as {@link #persist(Todo)}, but the write may be deferred by the {@link TodoWriteBehind}
+     */
+    public void stage(Todo todo) {
+        if (!journaled) {
+            writeBehind.stage(todo);
+        }
+    }
+
+    /**
+     * @see TodoWriteBehind#awaitCapacity()
+     */
+    public void awaitCapacity() {
+        if (!journaled) {
+            writeBehind.awaitCapacity();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.nimvb.app.service.persistence;
+
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListener;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Writes of the todos whose items are created.
+ * <p>
+ * The items get their ids from the repository, so they are always persisted before the creation is acknowledged; what
+ * is left is rewriting the parent todo. When <code>todo.service.write-behind.enabled</code> is set, that write is
+ * staged instead and a background flusher writes the staged todos once <code>batch-size</code> of them are pending or
+ * the oldest one has waited for <code>max-delay</code>. Repeated writes of a todo which is still pending are coalesced
+ * into one. At most <code>capacity</code> todos are pending, writers wait in {@link #awaitCapacity()} beyond that.
+ * A staged todo is dropped when it is deleted and it is only written if the repository still has it, so a pending
+ * write never brings a deleted todo back. The staged todos are flushed when the context is closed.
+ * <p>
+ * When disabled, {@link #stage(Todo)} writes the todo immediately.
+ */
+@Component
+public class TodoWriteBehind implements EntityListener, DisposableBean {
+
+    private final TodoRepository repository;
+    private final ServiceLocks locks;
+    private final List<WriteBehindHook> hooks;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelay;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition staged = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Map<Integer, Todo> pending = new LinkedHashMap<>();
+    private long oldest;
+    private boolean closed;
+    private final Thread flusher;
+
+    @Autowired
+    public TodoWriteBehind(TodoRepository repository,
+                           ServiceLocks locks,
+                           ObjectProvider<WriteBehindHook> hooks,
+                           @Value("${todo.service.write-behind.enabled:false}") boolean enabled,
+                           @Value("${todo.service.write-behind.capacity:4096}") int capacity,
+                           @Value("${todo.service.write-behind.batch-size:256}") int batchSize,
+                           @Value("${todo.service.write-behind.max-delay:PT0.05S}") Duration maxDelay) {
+        this(repository, locks, hooks.orderedStream().collect(Collectors.toList()), enabled, capacity, batchSize, maxDelay);
+    }
+
+    public TodoWriteBehind(TodoRepository repository, ServiceLocks locks, List<WriteBehindHook> hooks,
+                           boolean enabled, int capacity, int batchSize, Duration maxDelay) {
+        if (enabled && (capacity < 1 || batchSize < 1)) {
+            throw new IllegalArgumentException("capacity and batch size must be positive");
+        }
+        this.repository = repository;
+        this.locks = locks;
+        this.hooks = List.copyOf(hooks);
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay.toNanos();
+        if (enabled) {
+            flusher = new Thread(this::run, "todo-write-behind");
+            flusher.setDaemon(true);
+            flusher.start();
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * @param repository the repository which the todos are written to
+     * @return a disabled write-behind which writes every todo immediately
+     */
+    public static TodoWriteBehind direct(TodoRepository repository) {
+        return new TodoWriteBehind(repository, new ServiceLocks(), List.of(), false, 0, 0, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Write the todo, or stage the write if write-behind is enabled. The caller holds the lock of the todo, so this
+     * never waits for the flusher.
+     *
+     * @param todo the live todo which should be written
+     */
+    public void stage(Todo todo) {
+        if (!enabled || todo.getId() == null) {
+            repository.persist(todo);
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("write-behind is closed");
+            }
+            if (pending.isEmpty()) {
+                oldest = System.nanoTime();
+            }
+            // a todo which is already pending is written in its latest state anyway
+            pending.putIfAbsent(todo.getId(), todo);
+            if (pending.size() == 1 || pending.size() >= batchSize) {
+                // the flusher either starts waiting for max-delay or has a full batch
+                staged.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the number of the pending todos is within the capacity. Must not be called while a todo lock is held.
+     */
+    public void awaitCapacity() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (pending.size() > capacity && !closed) {
+                staged.signal();
+                drained.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of the todos which are staged but not written yet
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write all the staged todos on the calling thread
+     */
+    public void flush() {
+        write(drain());
+    }
+
+    @Override
+    public void onTodoDeleted(String boardId, Todo todo) {
+        if (!enabled || todo.getId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            pending.remove(todo.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            closed = true;
+            staged.signal();
+            drained.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join();
+        flush();
+    }
+
+    private void run() {
+        while (true) {
+            final List<Todo> batch;
+            lock.lock();
+            try {
+                while (!closed && !due()) {
+                    if (pending.isEmpty()) {
+                        staged.awaitUninterruptibly();
+                    } else {
+                        staged.awaitNanos(maxDelay - (System.nanoTime() - oldest));
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                batch = drain();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            write(batch);
+        }
+    }
+
+    private boolean due() {
+        return !pending.isEmpty() && (pending.size() >= batchSize || System.nanoTime() - oldest >= maxDelay);
+    }
+
+    private List<Todo> drain() {
+        lock.lock();
+        try {
+            final List<Todo> batch = new ArrayList<>(pending.values());
+            pending.clear();
+            drained.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<Todo> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<Integer> written = new ArrayList<>(batch.size());
+        for (Todo todo : batch) {
+            try {
+                final boolean exists = locks.getTodos().withLock(todo.getId(), () -> {
+                    if (repository.fetchById(todo.getId()).isEmpty()) {
+                        return false;
+                    }
+                    repository.persist(todo);
+                    return true;
+                });
+                if (exists) {
+                    written.add(todo.getId());
+                }
+            } catch (RuntimeException e) {
+                for (WriteBehindHook hook : hooks) {
+                    hook.onFailed(todo.getId(), e);
+                }
+            }
+        }
+        for (WriteBehindHook hook : hooks) {
+            hook.onFlushed(written);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.nimvb.app.service.persistence;
+
+import java.util.Collection;
+
+/**
+ * Callback of the write-behind flusher of {@link TodoWriteBehind}.
+ * <p>
+ * The hooks are called on the flusher thread, or on the thread which calls {@link TodoWriteBehind#flush()}, once per
+ * batch. All methods have an empty default implementation.
+ */
+public interface WriteBehindHook {
+
+    /**
+     * The todos have been written to the repository
+     *
+     * @param todoIds the ids of the written todos
+     */
+    default void onFlushed(Collection<Integer> todoIds) {
+    }
+
+    /**
+     * Writing a todo failed, the staged write is dropped
+     *
+     * @param todoId the id of the todo which could not be written
+     * @param cause the failure of the repository
+     */
+    default void onFailed(Integer todoId, RuntimeException cause) {
+    }
+}
@@ -1,9 +1,18 @@
 package com.nimvb.app.service;
 
 import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
 import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
 import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.concurrent.ServiceFlights;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.exception.EntityType;
+import com.nimvb.app.service.index.BoardStatisticsIndex;
+import com.nimvb.app.service.index.ParentIndex;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,11 +34,17 @@ class BoardServiceTest {
     private BoardRepository boardRepository;
     @Mock
     private TodoRepository todoRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    private ParentIndex parentIndex;
+    private BoardStatisticsIndex statisticsIndex;
     private BoardService boardService;
 
     @BeforeEach
     void init() {
-        boardService = new BoardServiceImpl(boardRepository, todoRepository);
+        parentIndex = new ParentIndex();
+        statisticsIndex = new BoardStatisticsIndex();
+        boardService = new BoardServiceImpl(boardRepository, todoRepository, itemRepository, EntityListeners.of(parentIndex, statisticsIndex), statisticsIndex, new ServiceFlights(), new ServiceLocks());
     }
 
     @Test
@@ -186,7 +201,7 @@ class BoardServiceTest {
             }};
         }).collect(Collectors.toList());
         Mockito
-                .when(boardRepository.findById(ArgumentMatchers.any()))
+                .when(boardRepository.fetchById(ArgumentMatchers.any()))
                         .thenAnswer(invocation -> {
                             final String id = invocation.getArgument(0);
                             if(id == null){
@@ -221,7 +236,7 @@ class BoardServiceTest {
         Assertions.assertThat(boards).hasSize(1);
         Assertions.assertThat(boards).allMatch(board -> board.getId().equals(ids.get(1)));
 
-        Mockito.verify(boardRepository,Mockito.times(1)).findById(ArgumentMatchers.any());
+        Mockito.verify(boardRepository,Mockito.times(1)).fetchById(ArgumentMatchers.any());
         Mockito.verify(boardRepository,Mockito.times(1)).deleteById(ArgumentMatchers.any());
     }
 
@@ -268,4 +283,176 @@ class BoardServiceTest {
             boardService.delete("");
         }).isInstanceOf(IllegalArgumentException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void Should_DeleteTheTodosAndItemsOfTheBoard_When_TheBoardIsDeleted() {
+        String id = UUID.randomUUID().toString();
+        final Board board = new Board() {{
+            setId(id);
+            setName("b1");
+            setColor("b1c1");
+            setTodos(List.of(new Todo() {{
+                setId(1);
+                setName("t1");
+                setItems(List.of(new Item() {{
+                    setId(10);
+                }}, new Item() {{
+                    setId(11);
+                }}));
+            }}, new Todo() {{
+                setId(2);
+                setName("t2");
+            }}));
+        }};
+        Mockito.when(boardRepository.fetchById(id)).thenReturn(Optional.of(board));
+
+        boardService.delete(id);
+
+        Mockito.verify(boardRepository, Mockito.times(1)).deleteById(id);
+        Mockito.verify(todoRepository, Mockito.times(1)).deleteById(1);
+        Mockito.verify(todoRepository, Mockito.times(1)).deleteById(2);
+        Mockito.verify(itemRepository, Mockito.times(1)).deleteById(10);
+        Mockito.verify(itemRepository, Mockito.times(1)).deleteById(11);
+        Mockito.verifyNoMoreInteractions(todoRepository, itemRepository);
+    }
+
+    @Test
+    void Should_RestoreTheBoardAndItsTodos_When_ATodoCannotBeDeleted() {
+        String id = UUID.randomUUID().toString();
+        final Todo first = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        final Todo second = new Todo() {{
+            setId(2);
+            setName("t2");
+            setItems(List.of(new Item() {{
+                setId(20);
+            }}));
+        }};
+        final Board board = new Board() {{
+            setId(id);
+            setName("b1");
+            setColor("b1c1");
+            setTodos(List.of(first, second));
+        }};
+        Mockito.when(boardRepository.fetchById(id)).thenReturn(Optional.of(board));
+        Mockito.lenient().doThrow(new IllegalStateException()).when(todoRepository).deleteById(2);
+
+        Assertions.assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> boardService.delete(id));
+
+        Mockito.verify(boardRepository, Mockito.times(1)).save(board);
+        Mockito.verify(todoRepository, Mockito.times(1)).save(first);
+        Mockito.verify(todoRepository, Mockito.never()).save(second);
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void Should_KeepTheCountsOfTheBoard_When_TodosAndItemsAreCreatedAndDeleted() {
+        String boardId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        var board = new Board() {{
+            setId(boardId);
+            setName("b1");
+            setColor("b1c1");
+        }};
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        var overdue = new Item() {{
+            setId(1);
+            setDeadlineTimestamp(now - 60_000);
+        }};
+        var upcoming = new Item() {{
+            setId(2);
+            setDeadlineTimestamp(now + 60_000);
+        }};
+        var completed = new Item() {{
+            setId(3);
+            setDeadlineTimestamp(now - 60_000);
+            setCompleted(true);
+        }};
+        statisticsIndex.onBoardCreated(board);
+        statisticsIndex.onTodoCreated(boardId, todo);
+        statisticsIndex.onItemCreated(1, overdue);
+        statisticsIndex.onItemCreated(1, upcoming);
+        statisticsIndex.onItemCreated(1, completed);
+
+        final var statistics = boardService.statistics(boardId);
+
+        Assertions.assertThat(statistics.getTodos()).isEqualTo(1);
+        Assertions.assertThat(statistics.getItems()).isEqualTo(3);
+        Assertions.assertThat(statistics.getCompletedItems()).isEqualTo(1);
+        Assertions.assertThat(statistics.getOverdueItems()).isEqualTo(1);
+
+        statisticsIndex.onItemDeleted(1, overdue);
+        statisticsIndex.onItemDeleted(1, completed);
+
+        Assertions.assertThat(boardService.statistics(boardId).getItems()).isEqualTo(1);
+        Assertions.assertThat(boardService.statistics(boardId).getCompletedItems()).isZero();
+        Assertions.assertThat(boardService.statistics(boardId).getOverdueItems()).isZero();
+        Assertions.assertThat(statisticsIndex.statistics(boardId, now + 120_000)).get().extracting("overdueItems").isEqualTo(1);
+        Mockito.verify(boardRepository, Mockito.never()).findById(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_RecomputeTheCountsFromTheRepository_When_TheBoardIsNotTracked() {
+        String boardId = UUID.randomUUID().toString();
+        var board = new Board() {{
+            setId(boardId);
+            setName("b1");
+            setColor("b1c1");
+        }};
+        board.getTodos().add(new Todo() {{
+            setId(1);
+            setName("t1");
+            getItems().add(new Item() {{
+                setId(1);
+                setDeadlineTimestamp(System.currentTimeMillis() + 60_000);
+            }});
+        }});
+        Mockito.when(boardRepository.findById(boardId)).thenReturn(Optional.of(board));
+
+        final var statistics = boardService.statistics(boardId);
+
+        Assertions.assertThat(statistics.getTodos()).isEqualTo(1);
+        Assertions.assertThat(statistics.getItems()).isEqualTo(1);
+        Assertions.assertThat(statistics.getOverdueItems()).isZero();
+        Assertions.assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> boardService.statistics("unknown"));
+    }
+
+    @Test
+    void Should_CarryTheTypeAndIdOfTheBoardWithoutAStackTrace_When_TheBoardIsNotFound() {
+        Mockito.when(boardRepository.findById("unknown")).thenReturn(Optional.empty());
+
+        Assertions.assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> boardService.find("unknown")).satisfies(exception -> {
+            Assertions.assertThat(exception.getEntityType()).isEqualTo(EntityType.BOARD);
+            Assertions.assertThat(exception.getEntityId()).isEqualTo("unknown");
+            Assertions.assertThat(exception.getStackTrace()).isEmpty();
+            Assertions.assertThat(exception.getMessage()).isEqualTo("board unknown is not found");
+        });
+        Assertions.assertThat(boardService.lookup("unknown")).isEmpty();
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> boardService.lookup(""));
+    }
+
+    @Test
+    void Should_SummarizeTheBoardsWithoutLoadingThem_When_TheyAreKnownToTheListeners() {
+        Mockito.when(boardRepository.save(ArgumentMatchers.any(Board.class))).thenAnswer(invocation -> {
+            final Board board = invocation.getArgument(0);
+            board.setId(board.getName() + "-id");
+            return board;
+        });
+        boardService.create("b2", "c2");
+        boardService.create("b1", "c1");
+        statisticsIndex.onTodoCreated("b1-id", new Todo() {{
+            setId(1);
+        }});
+
+        final var summaries = boardService.summaries();
+
+        Assertions.assertThat(summaries).extracting(summary -> summary.getId() + ":" + summary.getName() + ":" + summary.getColor() + ":" + summary.getTodoCount())
+                .containsExactly("b1-id:b1:c1:1", "b2-id:b2:c2:0");
+        Mockito.verify(boardRepository, Mockito.never()).findAll();
+    }
+}
@@ -1,14 +1,46 @@
 package com.nimvb.app.service;
 
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
 import com.nimvb.app.repository.BoardRepository;
 import com.nimvb.app.repository.ItemRepository;
 import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.async.ServiceExecutor;
+import com.nimvb.app.service.concurrent.ServiceFlights;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
+import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.exception.EntityType;
+import com.nimvb.app.service.exception.InvalidTimestampException;
+import com.nimvb.app.service.index.DeadlineIndex;
+import com.nimvb.app.service.index.ItemColumns;
+import com.nimvb.app.service.index.ParentIndex;
+import com.nimvb.app.service.model.ItemPatch;
+import com.nimvb.app.service.model.ItemSpec;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.persistence.ParentWriter;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,14 +54,395 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    private ParentIndex parentIndex;
+    private DeadlineIndex deadlineIndex;
+    private ItemColumns columns;
     private TodoService todoService;
+    private ItemService itemService;
 
     @BeforeEach
     void init() {
-        todoService = new TodoServiceImpl(boardRepository,todoRepository,itemRepository);
+        parentIndex = new ParentIndex();
+        deadlineIndex = new DeadlineIndex();
+        columns = new ItemColumns();
+        final EntityListeners listeners = EntityListeners.of(parentIndex, deadlineIndex, columns);
+        final ServiceLocks locks = new ServiceLocks();
+        todoService = new TodoServiceImpl(boardRepository,todoRepository,itemRepository,parentIndex,listeners,ServiceExecutor.direct(),locks,ParentWriter.direct(boardRepository,todoRepository),new ServiceFlights(),ParallelListing.sequential());
+        itemService = new ItemServiceImpl(todoRepository,itemRepository,parentIndex,deadlineIndex,columns,listeners,locks,ParentWriter.direct(boardRepository,todoRepository),ParallelListing.sequential());
     }
     @Test
     void create() {
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void Should_CreateAllItemsWithASingleTodoLookup_When_AllTheDeadlinesAreValid() {
+        var deadline = Instant.now().plusSeconds(3600);
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        final AtomicInteger sequence = new AtomicInteger();
+        Mockito.when(todoRepository.fetchById(ArgumentMatchers.any())).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item source = invocation.getArgument(0);
+            source.setId(sequence.incrementAndGet());
+            return source;
+        });
+
+        final List<Item> result = itemService.createAll(todo.getId(), List.of(
+                new ItemSpec("i1", "d1", deadline),
+                new ItemSpec("i2", "d2", deadline)));
+
+        Assertions.assertThat(result).extracting(Item::getId).containsExactly(1, 2);
+        Assertions.assertThat(todo.getItems()).hasSize(2);
+        Assertions.assertThat(todo.getItems()).noneMatch(item -> result.stream().anyMatch(i -> i == item));
+        Mockito.verify(todoRepository, Mockito.times(1)).fetchById(ArgumentMatchers.any());
+        Mockito.verify(itemRepository, Mockito.times(2)).persist(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_NotCreateAnyItem_When_OneOfTheDeadlinesIsInThePast() {
+        var now = Instant.now();
+
+        Assertions.assertThatExceptionOfType(InvalidTimestampException.class).isThrownBy(() -> {
+            itemService.createAll(1, List.of(
+                    new ItemSpec("i1", "d1", now.plusSeconds(3600)),
+                    new ItemSpec("i2", "d2", now.minusSeconds(3600))));
+        }).satisfies(exception -> {
+            Assertions.assertThat(exception.getEntityType()).isEqualTo(EntityType.ITEM);
+            Assertions.assertThat(exception.getTimestamp()).isEqualTo(now.minusSeconds(3600));
+            Assertions.assertThat(exception.getStackTrace()).isEmpty();
+        });
+
+        Mockito.verifyNoInteractions(todoRepository, itemRepository);
+    }
+
+    @Test
+    void Should_ResolveTheOwningTodo_When_TheItemIsDeletedByItsIdOnly() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item source = invocation.getArgument(0);
+            source.setId(7);
+            return source;
+        });
+        final Item item = itemService.create(1, "i1", "d1", Instant.now().plusSeconds(3600));
+        Mockito.when(itemRepository.fetchById(7)).thenReturn(Optional.of(todo.getItems().get(0)));
+
+        Assertions.assertThat(itemService.findTodoId(item.getId())).isEqualTo(1);
+
+        itemService.delete(item.getId());
+
+        Assertions.assertThat(todo.getItems()).isEmpty();
+        Assertions.assertThat(parentIndex.todoOf(item.getId(), -1)).isEqualTo(-1);
+        Mockito.verify(itemRepository, Mockito.times(1)).deleteById(7);
+        Assertions.assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> itemService.delete(item.getId())).satisfies(exception -> {
+            Assertions.assertThat(exception.getEntityType()).isEqualTo(EntityType.ITEM);
+            Assertions.assertThat(exception.getEntityId()).isEqualTo(7);
+        });
+        Assertions.assertThat(itemService.lookup(item.getId())).isEmpty();
+    }
+
+    @Test
+    void Should_ReturnOnlyTheItemsInTheRangePageByPage_When_TheDeadlineRangeIsQueried() {
+        var now = Instant.now();
+        final List<Item> items = List.of(
+                new Item() {{
+                    setId(1);
+                    setDeadlineTimestamp(now.minusSeconds(20).toEpochMilli());
+                }},
+                new Item() {{
+                    setId(2);
+                    setDeadlineTimestamp(now.minusSeconds(10).toEpochMilli());
+                }},
+                new Item() {{
+                    setId(3);
+                    setDeadlineTimestamp(now.minusSeconds(10).toEpochMilli());
+                }},
+                new Item() {{
+                    setId(4);
+                    setDeadlineTimestamp(now.plusSeconds(10).toEpochMilli());
+                }});
+        items.forEach(item -> deadlineIndex.onItemCreated(1, item));
+        Mockito.when(itemRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Integer id = invocation.getArgument(0);
+            return items.stream().filter(item -> item.getId().equals(id)).findFirst();
+        });
+
+        final Page<Item> first = itemService.overdue(now, null, 2);
+        final Page<Item> second = itemService.overdue(now, first.getNext(), 2);
+
+        Assertions.assertThat(first.getContent()).extracting(Item::getId).containsExactly(1, 2);
+        Assertions.assertThat(second.getContent()).extracting(Item::getId).containsExactly(3);
+        Assertions.assertThat(second.hasNext()).isFalse();
+        Assertions.assertThat(itemService.soonest(now, 5)).extracting(Item::getId).containsExactly(4);
+        Mockito.verify(itemRepository, Mockito.times(4)).findById(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_KeepEveryItem_When_ItemsAreCreatedConcurrentlyOnTheSameTodo() throws Exception {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        final AtomicInteger sequence = new AtomicInteger();
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item source = invocation.getArgument(0);
+            source.setId(sequence.incrementAndGet());
+            return source;
+        });
+        final int threads = 8;
+        final int perThread = 250;
+        final var deadline = Instant.now().plusSeconds(3600);
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        itemService.create(1, "i" + i, "d" + i, deadline);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Assertions.assertThat(todo.getItems()).hasSize(threads * perThread);
+        Assertions.assertThat(todo.getItems()).extracting(Item::getId).doesNotHaveDuplicates();
+        Assertions.assertThat(deadlineIndex.size()).isEqualTo(threads * perThread);
+    }
+
+    @Test
+    void Should_CountTheItemsWhichAreNotCompletedAndOverdue_When_TheColumnsAreScanned() {
+        var now = Instant.now();
+        columns.onItemCreated(1, new Item() {{
+            setId(1);
+            setDeadlineTimestamp(now.minusSeconds(10).toEpochMilli());
+        }});
+        columns.onItemCreated(1, new Item() {{
+            setId(2);
+            setDeadlineTimestamp(now.minusSeconds(10).toEpochMilli());
+            setCompleted(true);
+        }});
+        columns.onItemCreated(1, new Item() {{
+            setId(3);
+            setDeadlineTimestamp(now.plusSeconds(10).toEpochMilli());
+        }});
+
+        Assertions.assertThat(itemService.countOverdue(now)).isEqualTo(1);
+        Assertions.assertThat(itemService.countOverdue(now.plusSeconds(20))).isEqualTo(2);
+
+        columns.onItemDeleted(1, new Item() {{
+            setId(1);
+        }});
+
+        Assertions.assertThat(itemService.countOverdue(now)).isZero();
+        Assertions.assertThat(columns.size()).isEqualTo(2);
+        Assertions.assertThat(columns.completed(2)).isTrue();
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void Should_WriteOnlyTheItem_When_TheDeadlineOfTheItemIsPatched() {
+        var now = Instant.now();
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item source = invocation.getArgument(0);
+            if (source.getId() == null) {
+                source.setId(7);
+            }
+            return source;
+        });
+        final Item item = itemService.create(1, "i1", "d1", now.plusSeconds(3600));
+        Mockito.when(itemRepository.fetchById(7)).thenReturn(Optional.of(todo.getItems().get(0)));
+        Mockito.clearInvocations(todoRepository, itemRepository);
+
+        final Item patched = itemService.patch(item.getId(), ItemPatch.deadline(now.plusSeconds(7200)));
+
+        Assertions.assertThat(patched.getDeadlineTimestamp()).isEqualTo(now.plusSeconds(7200).toEpochMilli());
+        Assertions.assertThat(patched.getTitle()).isEqualTo("i1");
+        Assertions.assertThat(todo.getItems().get(0).getDeadlineTimestamp()).isEqualTo(now.plusSeconds(7200).toEpochMilli());
+        Assertions.assertThat(itemService.dueBetween(now, now.plusSeconds(5400), null, 10).getContent()).isEmpty();
+        Assertions.assertThat(deadlineIndex.size()).isEqualTo(1);
+        Assertions.assertThat(columns.deadline(7, -1)).isEqualTo(now.plusSeconds(7200).toEpochMilli());
+        Mockito.verify(itemRepository, Mockito.times(1)).persist(ArgumentMatchers.any());
+        Mockito.verify(todoRepository, Mockito.never()).persist(ArgumentMatchers.any());
+        Assertions.assertThatExceptionOfType(InvalidTimestampException.class).isThrownBy(() -> itemService.patch(item.getId(), ItemPatch.deadline(now.minusSeconds(60))));
+    }
+
+    @Test
+    void Should_RestoreTheItem_When_TheUpdatedItemCannotBePersisted() {
+        var item = new Item() {{
+            setId(7);
+            setTitle("i1");
+            setDescription("d1");
+            setDeadlineTimestamp(Instant.now().plusSeconds(3600).toEpochMilli());
+        }};
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+            getItems().add(item);
+        }};
+        parentIndex.onTodoCreated("b1", todo);
+        parentIndex.onItemCreated(1, item);
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.fetchById(7)).thenReturn(Optional.of(item));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenThrow(new IllegalStateException());
+
+        Assertions.assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> itemService.update(7, "i2", "d2", Instant.now().plusSeconds(60)));
+
+        Assertions.assertThat(item.getTitle()).isEqualTo("i1");
+        Assertions.assertThat(item.getDescription()).isEqualTo("d1");
+        Assertions.assertThat(item.isCompleted()).isFalse();
+    }
+
+    @Test
+    void Should_CompleteOnlyThePendingItems_When_AllTheItemsOfTheTodoAreCompleted() {
+        var pending = new Item() {{
+            setId(7);
+            setTitle("i1");
+        }};
+        var done = new Item() {{
+            setId(8);
+            setTitle("i2");
+            setCompleted(true);
+        }};
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+            getItems().add(pending);
+            getItems().add(done);
+        }};
+        columns.onItemCreated(1, pending);
+        columns.onItemCreated(1, done);
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+
+        final List<Item> completed = itemService.completeAll(1);
+
+        Assertions.assertThat(completed).extracting(Item::getId).containsExactly(7);
+        Assertions.assertThat(pending.isCompleted()).isTrue();
+        Assertions.assertThat(columns.completed(7)).isTrue();
+        Mockito.verify(itemRepository, Mockito.times(1)).persist(pending);
+        Mockito.verify(itemRepository, Mockito.never()).persist(done);
+        Mockito.verify(todoRepository, Mockito.never()).persist(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_IterateASnapshotOfTheItems_When_ItemsAreCreatedWhileTheViewIsRead() throws Exception {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+            setItems(new ArrayList<>());
+        }};
+        var board = new Board() {{
+            setId("b1");
+            setName("b1");
+            setTodos(new ArrayList<>(List.of(todo)));
+        }};
+        final AtomicInteger ids = new AtomicInteger();
+        parentIndex.onTodoCreated("b1", todo);
+        Mockito.when(boardRepository.fetchById("b1")).thenReturn(Optional.of(board));
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item item = invocation.getArgument(0);
+            item.setId(ids.incrementAndGet());
+            return item;
+        });
+        final Instant deadline = Instant.now().plusSeconds(60);
+        final ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> writes = writer.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    itemService.create(1, "i" + i, "d", deadline);
+                }
+            });
+            long read = 0;
+            while (!writes.isDone()) {
+                for (Todo view : todoService.all("b1")) {
+                    for (Item item : view.getItems()) {
+                        read += item.getTitle().length();
+                    }
+                }
+            }
+            writes.get(5, TimeUnit.SECONDS);
+
+            Assertions.assertThat(read).isPositive();
+            Assertions.assertThat(todoService.all("b1").iterator().next().getItems()).hasSize(2000);
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    void Should_ThrowAnExceptionAndKeepTheItem_When_TheItemDoesNotBelongToTheTodo() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        var other = new Todo() {{
+            setId(2);
+            setName("t2");
+        }};
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(todoRepository.fetchById(2)).thenReturn(Optional.of(other));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item source = invocation.getArgument(0);
+            source.setId(7);
+            return source;
+        });
+        itemService.create(1, "i1", "d1", Instant.now().plusSeconds(3600));
+        Mockito.when(itemRepository.fetchById(7)).thenReturn(Optional.of(todo.getItems().get(0)));
+
+        Assertions.assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> itemService.delete(2, 7));
+
+        Assertions.assertThat(todo.getItems()).hasSize(1);
+        Assertions.assertThat(parentIndex.todoOf(7, -1)).isEqualTo(1);
+        Mockito.verify(itemRepository, Mockito.never()).deleteById(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_ListAsManyOverdueItemsAsAreCounted_When_AnItemIsCompleted() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        final AtomicInteger sequence = new AtomicInteger();
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item source = invocation.getArgument(0);
+            if (source.getId() == null) {
+                source.setId(sequence.incrementAndGet());
+            }
+            return source;
+        });
+        Mockito.when(itemRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> todo.getItems().stream().filter(item -> item.getId().equals(invocation.getArgument(0))).findFirst());
+        Mockito.when(itemRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> todo.getItems().stream().filter(item -> item.getId().equals(invocation.getArgument(0))).findFirst());
+        final Instant deadline = Instant.now().plusSeconds(60);
+        itemService.createAll(1, List.of(new ItemSpec("i1", "d1", deadline), new ItemSpec("i2", "d2", deadline), new ItemSpec("i3", "d3", deadline)));
+        itemService.complete(2);
+        final Instant later = deadline.plusSeconds(60);
+
+        final Page<Item> overdue = itemService.overdue(later, null, 10);
+
+        Assertions.assertThat(overdue.getContent()).extracting(Item::getId).containsExactly(1, 3);
+        Assertions.assertThat(itemService.countOverdue(later)).isEqualTo(overdue.getContent().size());
+        Assertions.assertThat(itemService.soonest(Instant.now(), 10)).extracting(Item::getId).containsExactly(1, 3);
+    }
+}
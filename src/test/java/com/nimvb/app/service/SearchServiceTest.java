@@ -0,0 +1,137 @@
+package com.nimvb.app.service;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
+import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.index.SearchIndex;
+import com.nimvb.app.service.model.BoardSummary;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.SearchMode;
+import com.nimvb.app.service.model.TodoSummary;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private TodoRepository todoRepository;
+    @Mock
+    private ItemRepository itemRepository;
+
+    private SearchIndex index;
+    private SearchService searchService;
+
+    @BeforeEach
+    void init() {
+        index = new SearchIndex();
+        searchService = new SearchServiceImpl(boardRepository, todoRepository, itemRepository, index, new ServiceLocks());
+    }
+
+    @Test
+    void Should_RankTheItemsWhichContainTheTermInTheirTitleFirst_When_ItemsAreSearched() {
+        final List<Item> items = List.of(
+                new Item() {{
+                    setId(1);
+                    setTitle("groceries");
+                    setDescription("buy milk and bread");
+                }},
+                new Item() {{
+                    setId(2);
+                    setTitle("Milk");
+                    setDescription("the oat milk");
+                }},
+                new Item() {{
+                    setId(3);
+                    setTitle("bread");
+                    setDescription("whole grain");
+                }},
+                new Item() {{
+                    setId(4);
+                    setTitle("milkshake");
+                    setDescription("vanilla");
+                }});
+        items.forEach(item -> index.onItemCreated(1, item));
+        Mockito.when(itemRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Integer id = invocation.getArgument(0);
+            return items.stream().filter(item -> item.getId().equals(id)).findFirst();
+        });
+
+        final Page<Item> first = searchService.items("MILK", SearchMode.TERM, null, 1);
+        final Page<Item> second = searchService.items("MILK", SearchMode.TERM, first.getNext(), 1);
+
+        Assertions.assertThat(first.getContent()).extracting(Item::getId).containsExactly(2);
+        Assertions.assertThat(second.getContent()).extracting(Item::getId).containsExactly(1);
+        Assertions.assertThat(second.hasNext()).isFalse();
+        Assertions.assertThat(searchService.items("milk bread", SearchMode.TERM, null, 10).getContent()).extracting(Item::getId).containsExactly(1);
+        Assertions.assertThat(searchService.items("mil", SearchMode.PREFIX, null, 10).getContent()).extracting(Item::getId).containsExactly(2, 4, 1);
+        Assertions.assertThat(searchService.items("mil", SearchMode.TERM, null, 10).getContent()).isEmpty();
+
+        index.onItemDeleted(1, items.get(1));
+
+        Assertions.assertThat(searchService.items("milk", SearchMode.TERM, null, 10).getContent()).extracting(Item::getId).containsExactly(1);
+    }
+
+    @Test
+    void Should_ReturnTheSummariesOfTheBoards_When_BoardsAreSearched() {
+        var board = new Board() {{
+            setId(UUID.randomUUID().toString());
+            setName("Home chores");
+            setColor("c1");
+        }};
+        index.onBoardCreated(board);
+        Mockito.when(boardRepository.fetchById(board.getId())).thenReturn(Optional.of(board));
+
+        final Page<BoardSummary> result = searchService.boards("cho", SearchMode.PREFIX, null, 10);
+
+        Assertions.assertThat(result.getContent()).extracting(BoardSummary::getId).containsExactly(board.getId());
+
+        index.onBoardDeleted(board);
+
+        Assertions.assertThat(searchService.boards("chores", SearchMode.TERM, null, 10).getContent()).isEmpty();
+        Assertions.assertThat(index.terms()).isZero();
+    }
+
+    @Test
+    void Should_SummarizeTheLiveTodoWithoutLoadingACopy_When_TodosAreSearched() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("Weekly shopping");
+            getItems().add(new Item() {{
+                setId(2);
+                setCompleted(true);
+            }});
+        }};
+        index.onTodoCreated("b1", todo);
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+
+        final Page<TodoSummary> result = searchService.todos("shopping", SearchMode.TERM, null, 10);
+
+        Assertions.assertThat(result.getContent()).extracting(TodoSummary::getId).containsExactly(1);
+        Assertions.assertThat(result.getContent().get(0).getCompletedItemCount()).isEqualTo(1);
+        Mockito.verify(todoRepository, Mockito.never()).findById(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_ThrowAnException_When_TheQueryIsEmpty() {
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> searchService.items(" ", SearchMode.TERM, null, 10));
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> searchService.todos("t", null, null, 10));
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> searchService.items("t", SearchMode.TERM, "%%", 10));
+    }
+}
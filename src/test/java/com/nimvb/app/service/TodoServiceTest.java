@@ -3,11 +3,21 @@ package com.nimvb.app.service;
 import com.nimvb.app.database.exception.KeyAlreadyExistsException;
 import com.nimvb.app.database.exception.KeyNotFoundException;
 import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
 import com.nimvb.app.database.model.Todo;
 import com.nimvb.app.repository.BoardRepository;
 import com.nimvb.app.repository.ItemRepository;
 import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.async.ServiceExecutor;
+import com.nimvb.app.service.concurrent.ServiceFlights;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
 import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.index.ParentIndex;
+import com.nimvb.app.service.model.Page;
+import com.nimvb.app.service.model.TodoSummary;
+import com.nimvb.app.service.persistence.ParentWriter;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,11 +45,13 @@ class TodoServiceTest {
     private TodoRepository todoRepository;
     @Mock
     private ItemRepository itemRepository;
+    private ParentIndex parentIndex;
     private TodoService todoService;
 
     @BeforeEach
     void init() {
-        todoService = new TodoServiceImpl(boardRepository, todoRepository, itemRepository);
+        parentIndex = new ParentIndex();
+        todoService = new TodoServiceImpl(boardRepository, todoRepository, itemRepository, parentIndex, EntityListeners.of(parentIndex), ServiceExecutor.direct(), new ServiceLocks(), ParentWriter.direct(boardRepository, todoRepository), new ServiceFlights(), ParallelListing.sequential());
     }
 
     @Test
@@ -132,6 +144,30 @@ class TodoServiceTest {
         Mockito.verify(boardRepository, Mockito.times(1)).fetchById(ArgumentMatchers.any());
     }
 
+    @Test
+    void Should_RemoveThePersistedTodo_When_TheBoardCannotBeSaved() {
+        String boardId = UUID.randomUUID().toString();
+        var board = new Board() {{
+            setId(boardId);
+            setName("b1");
+            setColor("b1c1");
+        }};
+        Mockito.when(boardRepository.fetchById(boardId)).thenReturn(Optional.of(board));
+        Mockito.when(todoRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Todo source = invocation.getArgument(0);
+            source.setId(1);
+            return source;
+        });
+        Mockito.when(boardRepository.save(ArgumentMatchers.any())).thenThrow(KeyNotFoundException.class);
+
+        Assertions.assertThatThrownBy(() -> {
+            todoService.create(boardId, "t1");
+        }).isInstanceOf(KeyNotFoundException.class);
+        Assertions.assertThat(board.getTodos()).isEmpty();
+        Assertions.assertThat(parentIndex.boardOf(1)).isEmpty();
+        Mockito.verify(todoRepository, Mockito.times(1)).deleteById(1);
+    }
+
     @Test
     void Should_ThrownAnException_When_TheCorrespondentBoardIsRemovedBeforePersistingIt() {
         String boardId = UUID.randomUUID().toString();
@@ -239,7 +275,7 @@ class TodoServiceTest {
             setName("t1");
             setCreationTimestamp(creationTime.toEpochMilli());
         }};
-        Mockito.when(todoRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> {
+        Mockito.when(todoRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> {
             Integer id = (Integer) invocation.getArgument(0);
             if (id == null)
                 throw new IllegalArgumentException();
@@ -260,7 +296,7 @@ class TodoServiceTest {
         Assertions.assertThat(target).isNotNull();
         Assertions.assertThat(target).isEqualTo(todo);
         Assertions.assertThat(target).isNotSameAs(todo);
-        Mockito.verify(todoRepository, Mockito.times(1)).findById(ArgumentMatchers.any());
+        Mockito.verify(todoRepository, Mockito.times(1)).fetchById(ArgumentMatchers.any());
     }
 
     @Test
@@ -271,7 +307,7 @@ class TodoServiceTest {
             setName("t1");
             setCreationTimestamp(creationTime.toEpochMilli());
         }};
-        Mockito.when(todoRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> {
+        Mockito.when(todoRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> {
             Integer id = (Integer) invocation.getArgument(0);
             if (id == null)
                 throw new IllegalArgumentException();
@@ -292,7 +328,7 @@ class TodoServiceTest {
         }).isInstanceOf(EntityNotFoundException.class);
 
 
-        Mockito.verify(todoRepository, Mockito.times(1)).findById(ArgumentMatchers.any());
+        Mockito.verify(todoRepository, Mockito.times(1)).fetchById(ArgumentMatchers.any());
     }
 
 
@@ -310,7 +346,7 @@ class TodoServiceTest {
         }).isInstanceOf(IllegalArgumentException.class);
 
 
-        Mockito.verify(todoRepository, Mockito.times(0)).findById(ArgumentMatchers.any());
+        Mockito.verify(todoRepository, Mockito.times(0)).fetchById(ArgumentMatchers.any());
     }
 
     @Test
@@ -524,4 +560,175 @@ class TodoServiceTest {
         Assertions.assertThat(board.getTodos()).isSameAs(todos);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void Should_ReturnTheTodosOfTheBoardPageByPage_When_TheBoardIdAndPageSizeIsProvided() {
+        var creationTimestamp = Instant.now();
+        var boardId = UUID.randomUUID().toString();
+        final List<Todo> todos = List.of(new Todo() {{
+            setId(3);
+            setName("t3");
+            setCreationTimestamp(creationTimestamp.toEpochMilli());
+        }}, new Todo() {{
+            setId(1);
+            setName("t1");
+            setCreationTimestamp(creationTimestamp.toEpochMilli());
+        }}, new Todo() {{
+            setId(2);
+            setName("t2");
+            setCreationTimestamp(creationTimestamp.toEpochMilli());
+        }});
+        var board = new Board() {{
+            setId(boardId);
+            setName("b1");
+            setColor("b1c1");
+            setTodos(todos);
+        }};
+
+        Mockito.when(boardRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            if (id.equals(board.getId())) {
+                return Optional.of(board);
+            }
+            return Optional.empty();
+        });
+
+        final Page<Todo> first = todoService.page(boardId, null, 2);
+        final Page<Todo> second = todoService.page(boardId, first.getNext(), 2);
+
+        Assertions.assertThat(first.getContent()).extracting(Todo::getId).containsExactly(1, 2);
+        Assertions.assertThat(first.hasNext()).isTrue();
+        Assertions.assertThat(first.getContent()).noneMatch(todo -> todos.stream().anyMatch(t -> t == todo));
+        Assertions.assertThat(second.getContent()).extracting(Todo::getId).containsExactly(3);
+        Assertions.assertThat(second.hasNext()).isFalse();
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> {
+            todoService.page(boardId, null, 0);
+        });
+    }
+
+    @Test
+    void Should_ReturnTheSummariesOfTheTodos_When_TheBoardIdIsProvided() {
+        var deadline = Instant.now().plusSeconds(3600);
+        var boardId = UUID.randomUUID().toString();
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        todo.getItems().add(new Item() {{
+            setId(1);
+            setTitle("i1");
+            setDeadlineTimestamp(deadline.plusSeconds(60).toEpochMilli());
+        }});
+        todo.getItems().add(new Item() {{
+            setId(2);
+            setTitle("i2");
+            setDeadlineTimestamp(deadline.toEpochMilli());
+        }});
+        todo.getItems().add(new Item() {{
+            setId(3);
+            setTitle("i3");
+            setDeadlineTimestamp(deadline.minusSeconds(60).toEpochMilli());
+            setCompleted(true);
+        }});
+        var empty = new Todo() {{
+            setId(2);
+            setName("t2");
+        }};
+        var board = new Board() {{
+            setId(boardId);
+            setName("b1");
+            setColor("b1c1");
+            setTodos(new ArrayList<>(List.of(todo, empty)));
+        }};
+        Mockito.when(boardRepository.fetchById(boardId)).thenReturn(Optional.of(board));
+
+        final List<TodoSummary> summaries = new ArrayList<>(todoService.summaries(boardId));
+        final Page<TodoSummary> page = todoService.summaries(boardId, null, 1);
+
+        Assertions.assertThat(summaries).hasSize(2);
+        Assertions.assertThat(summaries.get(0).getItemCount()).isEqualTo(3);
+        Assertions.assertThat(summaries.get(0).getCompletedItemCount()).isEqualTo(1);
+        Assertions.assertThat(summaries.get(0).getNextDeadline()).isEqualTo(Instant.ofEpochMilli(deadline.toEpochMilli()));
+        Assertions.assertThat(summaries.get(1).getItemCount()).isZero();
+        Assertions.assertThat(summaries.get(1).getNextDeadline()).isNull();
+        Assertions.assertThat(page.getContent()).extracting(TodoSummary::getId).containsExactly(1);
+        Assertions.assertThat(todoService.summaries(boardId, page.getNext(), 1).getContent()).extracting(TodoSummary::getId).containsExactly(2);
+    }
+
+    @Test
+    void Should_WriteOnlyTheTodo_When_TheTodoIsRenamed() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        parentIndex.onTodoCreated("b1", todo);
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+
+        final Todo updated = todoService.update(1, "t2");
+
+        Assertions.assertThat(updated.getName()).isEqualTo("t2");
+        Assertions.assertThat(todo.getName()).isEqualTo("t2");
+        Mockito.verify(todoRepository, Mockito.times(1)).persist(todo);
+        Mockito.verifyNoInteractions(boardRepository, itemRepository);
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> todoService.update(1, " "));
+        Assertions.assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> todoService.update(2, "t2"));
+    }
+
+    @Test
+    void Should_ReturnReadOnlyViews_When_TheTodosOfTheBoardAreListed() {
+        var item = new Item() {{
+            setId(1);
+            setTitle("i1");
+        }};
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+            setItems(new ArrayList<>(List.of(item)));
+        }};
+        var board = new Board() {{
+            setId("b1");
+            setName("b1");
+            setTodos(new ArrayList<>(List.of(todo)));
+        }};
+        Mockito.when(boardRepository.fetchById("b1")).thenReturn(Optional.of(board));
+
+        final List<Todo> result = new ArrayList<>(todoService.all("b1"));
+        final Todo view = result.get(0);
+
+        Assertions.assertThat(view).isEqualTo(todo).isNotSameAs(todo);
+        Assertions.assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> view.setName("t2"));
+        Assertions.assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> view.getItems().clear());
+        Assertions.assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> view.getItems().get(0).setCompleted(true));
+        Assertions.assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> todoService.all("b1").clear());
+        Assertions.assertThat(todo.getName()).isEqualTo("t1");
+        Assertions.assertThat(todo.getItems()).containsExactly(item);
+        Assertions.assertThat(item.isCompleted()).isFalse();
+    }
+
+    @Test
+    void Should_ThrowAnExceptionAndKeepTheTodo_When_TheTodoDoesNotBelongToTheBoard() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        var owner = new Board() {{
+            setId("b1");
+            getTodos().add(todo);
+        }};
+        var other = new Board() {{
+            setId("b2");
+        }};
+        Mockito.when(boardRepository.fetchById("b2")).thenReturn(Optional.of(other));
+        parentIndex.onTodoCreated(owner.getId(), todo);
+
+        Assertions.assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> todoService.delete("b2", 1));
+
+        parentIndex.onTodoDeleted(owner.getId(), todo);
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+
+        Assertions.assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> todoService.delete("b2", 1));
+        Assertions.assertThat(owner.getTodos()).containsExactly(todo);
+        Mockito.verify(todoRepository, Mockito.never()).deleteById(ArgumentMatchers.any());
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+}
@@ -0,0 +1,52 @@
+package com.nimvb.app.service.async;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class ParallelListingTest {
+
+    @Test
+    void Should_KeepTheOrderOfTheElements_When_TheListingIsParallel() {
+        final List<Integer> source = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        final ParallelListing listing = new ParallelListing(true, 100);
+
+        final Stream<Integer> stream = listing.stream(source);
+
+        Assertions.assertThat(stream.isParallel()).isTrue();
+        Assertions.assertThat(stream.map(value -> value * 2).collect(Collectors.toList()))
+                .isEqualTo(source.stream().map(value -> value * 2).collect(Collectors.toList()));
+        Assertions.assertThat(listing.stream(new LinkedList<>(source)).filter(value -> value % 2 == 0).findFirst()).contains(0);
+    }
+
+    @Test
+    void Should_StreamSequentially_When_TheListingIsSmallOrDisabled() {
+        final List<Integer> source = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+        Assertions.assertThat(new ParallelListing(true, 100).stream(source).isParallel()).isFalse();
+        Assertions.assertThat(new ParallelListing(false, 0).stream(source).isParallel()).isFalse();
+        Assertions.assertThat(ParallelListing.sequential().stream(source).collect(Collectors.toList())).isEqualTo(source);
+    }
+
+    @Test
+    void Should_SplitTheRangeInHalvesDownToTheLeaf_When_TheSpliteratorIsSplit() {
+        final List<Integer> source = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        final Spliterator<Integer> suffix = new ParallelListing.RangeSpliterator<>(source, 0, source.size(), 4);
+
+        final Spliterator<Integer> prefix = suffix.trySplit();
+
+        Assertions.assertThat(prefix.estimateSize()).isEqualTo(5);
+        Assertions.assertThat(suffix.estimateSize()).isEqualTo(5);
+        Assertions.assertThat(prefix.trySplit()).isNotNull();
+        Assertions.assertThat(prefix.trySplit()).isNull();
+        Assertions.assertThat(suffix.tryAdvance(value -> Assertions.assertThat(value).isEqualTo(5))).isTrue();
+        Assertions.assertThat(suffix.estimateSize()).isEqualTo(4);
+        Assertions.assertThat(suffix.trySplit()).isNull();
+    }
+}
@@ -0,0 +1,91 @@
+package com.nimvb.app.service.async;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class ServiceExecutorTest {
+
+    private ExecutorService pool;
+    private ServiceExecutor executor;
+
+    @BeforeEach
+    void init() {
+        pool = Executors.newFixedThreadPool(4);
+        executor = new ServiceExecutor(pool, 10);
+    }
+
+    @AfterEach
+    void destroy() {
+        executor.destroy();
+    }
+
+    @Test
+    void Should_KeepTheOrderOfTheElements_When_TheMappingIsFannedOut() {
+        final List<Integer> source = IntStream.range(0, 105).boxed().collect(Collectors.toList());
+
+        final List<Integer> result = executor.map(source, value -> value * 2);
+
+        Assertions.assertThat(result).isEqualTo(source.stream().map(value -> value * 2).collect(Collectors.toList()));
+    }
+
+    @Test
+    void Should_ProcessEveryElementOnce_When_TheWorkIsSplitIntoChunks() {
+        final List<Integer> source = IntStream.range(0, 105).boxed().collect(Collectors.toList());
+        final Set<Integer> processed = ConcurrentHashMap.newKeySet();
+
+        executor.forEachChunk(source, chunk -> {
+            Assertions.assertThat(chunk.size()).isLessThanOrEqualTo(10);
+            processed.addAll(chunk);
+        });
+
+        Assertions.assertThat(processed).hasSize(source.size());
+    }
+
+    @Test
+    void Should_RethrowTheOriginalException_When_AChunkFails() {
+        final List<Integer> source = IntStream.range(0, 105).boxed().collect(Collectors.toList());
+
+        Assertions.assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> executor.forEachChunk(source, chunk -> {
+            if (chunk.contains(50)) {
+                throw new IllegalStateException();
+            }
+        }));
+    }
+
+    @Test
+    void Should_CompleteTheNestedFanOut_When_EveryThreadOfThePoolIsBusyWithAnAsyncCall() throws Exception {
+        final List<Integer> source = IntStream.range(0, 105).boxed().collect(Collectors.toList());
+        final CountDownLatch started = new CountDownLatch(4);
+        final List<CompletableFuture<List<Integer>>> calls = new ArrayList<>();
+        // like the asynchronous summaries, each call holds a thread of the pool while it fans out on the same pool
+        for (int i = 0; i < 4; i++) {
+            calls.add(executor.supply(() -> {
+                started.countDown();
+                try {
+                    started.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return executor.map(source, value -> value * 2);
+            }));
+        }
+
+        for (CompletableFuture<List<Integer>> call : calls) {
+            Assertions.assertThat(call.get(5, TimeUnit.SECONDS)).hasSize(source.size()).startsWith(0, 2, 4);
+        }
+    }
+}
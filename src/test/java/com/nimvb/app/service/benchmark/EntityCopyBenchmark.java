@@ -0,0 +1,117 @@
+package com.nimvb.app.service.benchmark;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.model.EntityCopies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares copies made through several double-brace initialized call sites, as the services used to do, against the
+ * {@link EntityCopies} copies. Each benchmark copies the same todos and reads them back through their getters, so the
+ * double-brace variant also pays for the megamorphic getter calls. Run with <code>-prof gc</code> to compare allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCopyBenchmark {
+
+    private List<Todo> todos;
+    private Item item;
+
+    @Setup
+    public void setup() {
+        todos = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            final Todo todo = new Todo();
+            todo.setId(i);
+            todo.setName("t" + i);
+            todo.setCreationTimestamp(i);
+            todos.add(todo);
+        }
+        item = new Item();
+        item.setId(1);
+        item.setTitle("title");
+        item.setDescription("description");
+        item.setCreationTimestamp(1);
+        item.setDeadlineTimestamp(2);
+    }
+
+    @Benchmark
+    public long doubleBraceTodos() {
+        long sum = 0;
+        for (int i = 0; i < todos.size(); i++) {
+            final Todo source = todos.get(i);
+            final Todo copy;
+            switch (i % 3) {
+                case 0:
+                    copy = new Todo() {{
+                        setId(source.getId());
+                        setName(source.getName());
+                        setItems(source.getItems());
+                        setCreationTimestamp(source.getCreationTimestamp());
+                    }};
+                    break;
+                case 1:
+                    copy = new Todo() {{
+                        setId(source.getId());
+                        setName(source.getName());
+                        setCreationTimestamp(source.getCreationTimestamp());
+                        setItems(source.getItems());
+                    }};
+                    break;
+                default:
+                    copy = new Todo() {{
+                        setName(source.getName());
+                        setId(source.getId());
+                        setItems(source.getItems());
+                        setCreationTimestamp(source.getCreationTimestamp());
+                    }};
+            }
+            sum += copy.getId() + copy.getCreationTimestamp() + copy.getName().length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long entityCopiesTodos() {
+        long sum = 0;
+        for (int i = 0; i < todos.size(); i++) {
+            final Todo copy = EntityCopies.shallow(todos.get(i));
+            sum += copy.getId() + copy.getCreationTimestamp() + copy.getName().length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Item doubleBraceItem() {
+        final Item source = item;
+        return new Item() {{
+            setId(source.getId());
+            setTitle(source.getTitle());
+            setDescription(source.getDescription());
+            setCreationTimestamp(source.getCreationTimestamp());
+            setDeadlineTimestamp(source.getDeadlineTimestamp());
+        }};
+    }
+
+    @Benchmark
+    public Item entityCopiesItem() {
+        return EntityCopies.copy(item);
+    }
+}
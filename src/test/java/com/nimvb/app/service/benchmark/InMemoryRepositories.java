@@ -0,0 +1,112 @@
+package com.nimvb.app.service.benchmark;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
+import com.nimvb.app.repository.TodoRepository;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Map backed stand-in for the repositories which are used by the benchmarks.
+ * <p>
+ * The stubs are created with <code>stubOnly</code> so that invocations are not recorded, <code>fetchById</code> returns
+ * the live entity and <code>findById</code>/<code>findAll</code> return copies like the real repositories do.
+ */
+public final class InMemoryRepositories {
+
+    public final Map<String, Board> boards = new ConcurrentHashMap<>();
+    public final Map<Integer, Todo> todos = new ConcurrentHashMap<>();
+    public final Map<Integer, Item> items = new ConcurrentHashMap<>();
+
+    public final BoardRepository boardRepository = Mockito.mock(BoardRepository.class, Mockito.withSettings().stubOnly());
+    public final TodoRepository todoRepository = Mockito.mock(TodoRepository.class, Mockito.withSettings().stubOnly());
+    public final ItemRepository itemRepository = Mockito.mock(ItemRepository.class, Mockito.withSettings().stubOnly());
+
+    private final AtomicInteger todoSequence = new AtomicInteger();
+    private final AtomicInteger itemSequence = new AtomicInteger();
+
+    public InMemoryRepositories() {
+        Mockito.when(boardRepository.save(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            final Board board = invocation.getArgument(0);
+            if (board.getId() == null) {
+                board.setId(UUID.randomUUID().toString());
+            }
+            boards.put(board.getId(), board);
+            return copy(board);
+        });
+        Mockito.when(boardRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            final Board board = invocation.getArgument(0);
+            boards.put(board.getId(), board);
+            return board;
+        });
+        Mockito.when(boardRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> Optional.ofNullable(boards.get((String) invocation.getArgument(0))));
+        Mockito.when(boardRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> Optional.ofNullable(boards.get((String) invocation.getArgument(0))).map(InMemoryRepositories::copy));
+        Mockito.when(boardRepository.findAll()).thenAnswer(invocation -> boards.values().stream().map(InMemoryRepositories::copy).collect(Collectors.toList()));
+        Mockito.doAnswer(invocation -> boards.remove((String) invocation.getArgument(0))).when(boardRepository).deleteById(ArgumentMatchers.any());
+
+        Mockito.when(todoRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            final Todo todo = invocation.getArgument(0);
+            if (todo.getId() == null) {
+                todo.setId(todoSequence.incrementAndGet());
+            }
+            todos.put(todo.getId(), todo);
+            return todo;
+        });
+        Mockito.when(todoRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> Optional.ofNullable(todos.get((Integer) invocation.getArgument(0))));
+        Mockito.when(todoRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> Optional.ofNullable(todos.get((Integer) invocation.getArgument(0))).map(InMemoryRepositories::copy));
+        Mockito.when(todoRepository.findAll()).thenAnswer(invocation -> todos.values().stream().map(InMemoryRepositories::copy).collect(Collectors.toList()));
+        Mockito.doAnswer(invocation -> todos.remove((Integer) invocation.getArgument(0))).when(todoRepository).deleteById(ArgumentMatchers.any());
+
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            final Item item = invocation.getArgument(0);
+            if (item.getId() == null) {
+                item.setId(itemSequence.incrementAndGet());
+            }
+            items.put(item.getId(), item);
+            return item;
+        });
+        Mockito.when(itemRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> Optional.ofNullable(items.get((Integer) invocation.getArgument(0))));
+        Mockito.when(itemRepository.findById(ArgumentMatchers.any())).thenAnswer(invocation -> Optional.ofNullable(items.get((Integer) invocation.getArgument(0))).map(InMemoryRepositories::copy));
+        Mockito.when(itemRepository.findAll()).thenAnswer(invocation -> items.values().stream().map(InMemoryRepositories::copy).collect(Collectors.toList()));
+        Mockito.doAnswer(invocation -> items.remove((Integer) invocation.getArgument(0))).when(itemRepository).deleteById(ArgumentMatchers.any());
+    }
+
+    private static Board copy(Board source) {
+        final Board board = new Board();
+        board.setId(source.getId());
+        board.setName(source.getName());
+        board.setColor(source.getColor());
+        board.setTodos(source.getTodos().stream().map(InMemoryRepositories::copy).collect(Collectors.toList()));
+        return board;
+    }
+
+    private static Todo copy(Todo source) {
+        final Todo todo = new Todo();
+        todo.setId(source.getId());
+        todo.setName(source.getName());
+        todo.setCreationTimestamp(source.getCreationTimestamp());
+        todo.setItems(source.getItems().stream().map(InMemoryRepositories::copy).collect(Collectors.toList()));
+        return todo;
+    }
+
+    private static Item copy(Item source) {
+        final Item item = new Item();
+        item.setId(source.getId());
+        item.setTitle(source.getTitle());
+        item.setDescription(source.getDescription());
+        item.setCreationTimestamp(source.getCreationTimestamp());
+        item.setDeadlineTimestamp(source.getDeadlineTimestamp());
+        item.setCompleted(source.isCompleted());
+        return item;
+    }
+}
@@ -0,0 +1,88 @@
+package com.nimvb.app.service.benchmark;
+
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.ItemServiceImpl;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
+import com.nimvb.app.service.index.DeadlineIndex;
+import com.nimvb.app.service.index.ItemColumns;
+import com.nimvb.app.service.index.ParentIndex;
+import com.nimvb.app.service.model.ItemSpec;
+import com.nimvb.app.service.persistence.ParentWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares importing <code>items</code> items into one todo through {@link ItemService#create} in a loop against a
+ * single {@link ItemService#createAll} call. Divide the reported time by <code>items</code> for the per item cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemCreationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int items;
+
+    private InMemoryRepositories repositories;
+    private ItemService itemService;
+    private List<ItemSpec> specs;
+    private Integer todoId;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        repositories = new InMemoryRepositories();
+        final ParentIndex parentIndex = new ParentIndex();
+        final DeadlineIndex deadlineIndex = new DeadlineIndex();
+        final ItemColumns columns = new ItemColumns();
+        itemService = new ItemServiceImpl(repositories.todoRepository, repositories.itemRepository, parentIndex, deadlineIndex, columns, EntityListeners.of(parentIndex, deadlineIndex, columns), new ServiceLocks(), ParentWriter.direct(repositories.boardRepository, repositories.todoRepository), ParallelListing.sequential());
+        final Instant deadline = Instant.now().plus(365, ChronoUnit.DAYS);
+        specs = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            specs.add(new ItemSpec("title-" + i, "description-" + i, deadline));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        repositories.items.clear();
+        repositories.todos.clear();
+        final Todo todo = new Todo();
+        todo.setName("t");
+        todoId = repositories.todoRepository.persist(todo).getId();
+    }
+
+    @Benchmark
+    public void createInLoop(Blackhole blackhole) {
+        for (ItemSpec spec : specs) {
+            blackhole.consume(itemService.create(todoId, spec.getTitle(), spec.getDescription(), spec.getDeadline()));
+        }
+    }
+
+    @Benchmark
+    public void createAll(Blackhole blackhole) {
+        blackhole.consume(itemService.createAll(todoId, specs));
+    }
+}
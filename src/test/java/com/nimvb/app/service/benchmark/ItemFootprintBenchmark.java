@@ -0,0 +1,100 @@
+package com.nimvb.app.service.benchmark;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.service.index.ItemColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares holding <code>items</code> items as {@link Item} objects in an id keyed map, as the repositories do, against
+ * the {@link ItemColumns} columns: the benchmarks scan both for the overdue items and the retained bytes per item of
+ * both are measured from the heap after a full collection and printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ItemFootprintBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int items;
+
+    private Map<Integer, Item> objects;
+    private ItemColumns columns;
+    private long now;
+    private long objectBytes;
+    private long columnBytes;
+
+    @Setup
+    public void setup() {
+        now = System.currentTimeMillis();
+        final long baseline = usedHeap();
+        objects = new HashMap<>();
+        for (int i = 0; i < items; i++) {
+            final Item item = new Item();
+            item.setId(i);
+            item.setTitle("title-" + i);
+            item.setDescription("description-" + i);
+            item.setCreationTimestamp(now);
+            item.setDeadlineTimestamp(now + (i % 2 == 0 ? -1 : 1) * 60_000L);
+            item.setCompleted(i % 3 == 0);
+            objects.put(item.getId(), item);
+        }
+        objectBytes = usedHeap() - baseline;
+        final List<Item> source = new ArrayList<>(objects.values());
+        final long beforeColumns = usedHeap();
+        columns = new ItemColumns();
+        for (Item item : source) {
+            columns.onItemCreated(null, item);
+        }
+        columnBytes = usedHeap() - beforeColumns;
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%nretained bytes per item: objects %d, columns %d (estimated %d)%n",
+                objectBytes / items, columnBytes / items, columns.footprint() / items);
+    }
+
+    @Benchmark
+    public int countOverdueObjects() {
+        int count = 0;
+        for (Item item : objects.values()) {
+            if (item.getDeadlineTimestamp() < now && !item.isCompleted()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countOverdueColumns() {
+        return columns.countOverdue(now);
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,87 @@
+package com.nimvb.app.service.benchmark;
+
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.model.EntityViews;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential and the parallel {@link ParallelListing} streams over boards of <code>todos</code> todos,
+ * each todo with a few items, to find the size from which the parallel listing pays off. The consumer wraps every todo
+ * in a view and walks its items, as a caller which summarizes the listing would. The crossover is where
+ * <code>todo.service.listing.parallel-threshold</code> should be set on the measured machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingBenchmark {
+
+    @Param({"256", "1024", "4096", "16384", "65536"})
+    private int todos;
+
+    private List<Todo> source;
+    private ParallelListing sequential;
+    private ParallelListing parallel;
+
+    @Setup
+    public void setup() {
+        source = new ArrayList<>(todos);
+        for (int i = 0; i < todos; i++) {
+            final Todo todo = new Todo();
+            todo.setId(i);
+            todo.setName("t" + i);
+            todo.setCreationTimestamp(i);
+            final List<Item> items = new ArrayList<>();
+            for (int j = 0; j < 4; j++) {
+                final Item item = new Item();
+                item.setId(i * 4 + j);
+                item.setTitle("i" + j);
+                item.setDeadlineTimestamp(i + j);
+                item.setCompleted(j % 2 == 0);
+                items.add(item);
+            }
+            todo.setItems(items);
+            source.add(todo);
+        }
+        sequential = ParallelListing.sequential();
+        parallel = new ParallelListing(true, 0);
+    }
+
+    @Benchmark
+    public long sequential() {
+        return consume(sequential);
+    }
+
+    @Benchmark
+    public long parallel() {
+        return consume(parallel);
+    }
+
+    private long consume(ParallelListing listing) {
+        return listing.stream(source).map(EntityViews::of).mapToLong(todo -> {
+            long sum = todo.getName().length();
+            for (Item item : todo.getItems()) {
+                sum += item.isCompleted() ? 0 : item.getDeadlineTimestamp();
+            }
+            return sum;
+        }).sum();
+    }
+}
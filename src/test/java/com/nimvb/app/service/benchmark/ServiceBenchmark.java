@@ -0,0 +1,189 @@
+package com.nimvb.app.service.benchmark;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.BoardService;
+import com.nimvb.app.service.BoardServiceImpl;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.ItemServiceImpl;
+import com.nimvb.app.service.TodoService;
+import com.nimvb.app.service.TodoServiceImpl;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.async.ServiceExecutor;
+import com.nimvb.app.service.concurrent.ServiceFlights;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
+import com.nimvb.app.service.index.BoardStatisticsIndex;
+import com.nimvb.app.service.index.DeadlineIndex;
+import com.nimvb.app.service.index.ItemColumns;
+import com.nimvb.app.service.index.ParentIndex;
+import com.nimvb.app.service.model.BoardStatistics;
+import com.nimvb.app.service.model.TodoSummary;
+import com.nimvb.app.service.persistence.ParentWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the service operations against {@link InMemoryRepositories} for a dataset of
+ * <code>boards</code> &times; <code>todos</code> &times; <code>items</code> entities.
+ * <p>
+ * The create benchmarks grow the dataset for the duration of a trial, the delete benchmarks create the entity they
+ * remove so that the dataset keeps its size. The <code>benchmark</code> profile runs them with the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"1", "10"})
+    private int boards;
+
+    @Param({"10", "100"})
+    private int todos;
+
+    @Param({"10", "100"})
+    private int items;
+
+    private BoardService boardService;
+    private TodoService todoService;
+    private ItemService itemService;
+
+    private String[] boardIds;
+    private Integer[] todoIds;
+    private Integer[] itemIds;
+    private Instant deadline;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final InMemoryRepositories repositories = new InMemoryRepositories();
+        final ParentIndex parentIndex = new ParentIndex();
+        final DeadlineIndex deadlineIndex = new DeadlineIndex();
+        final ItemColumns columns = new ItemColumns();
+        final BoardStatisticsIndex statisticsIndex = new BoardStatisticsIndex();
+        final EntityListeners listeners = EntityListeners.of(parentIndex, deadlineIndex, columns, statisticsIndex);
+        final ServiceLocks locks = new ServiceLocks();
+        boardService = new BoardServiceImpl(repositories.boardRepository, repositories.todoRepository, repositories.itemRepository, listeners, statisticsIndex, new ServiceFlights(), locks);
+        todoService = new TodoServiceImpl(repositories.boardRepository, repositories.todoRepository, repositories.itemRepository, parentIndex, listeners, ServiceExecutor.direct(), locks, ParentWriter.direct(repositories.boardRepository, repositories.todoRepository), new ServiceFlights(), ParallelListing.sequential());
+        itemService = new ItemServiceImpl(repositories.todoRepository, repositories.itemRepository, parentIndex, deadlineIndex, columns, listeners, locks, ParentWriter.direct(repositories.boardRepository, repositories.todoRepository), ParallelListing.sequential());
+        deadline = Instant.now().plus(365, ChronoUnit.DAYS);
+        boardIds = new String[boards];
+        todoIds = new Integer[boards * todos];
+        itemIds = new Integer[boards * todos * items];
+        int t = 0;
+        int i = 0;
+        for (int b = 0; b < boards; b++) {
+            boardIds[b] = boardService.create("b" + b, "c" + b).getId();
+            for (int j = 0; j < todos; j++) {
+                todoIds[t] = todoService.create(boardIds[b], "t" + j).getId();
+                for (int k = 0; k < items; k++) {
+                    itemIds[i++] = itemService.create(todoIds[t], "i" + k, "d" + k, deadline).getId();
+                }
+                t++;
+            }
+        }
+    }
+
+    private int next(int bound) {
+        cursor = (cursor + 1) % bound;
+        return cursor;
+    }
+
+    @Benchmark
+    public Board boardCreate() {
+        return boardService.create("board", "color");
+    }
+
+    @Benchmark
+    public Board boardFind() {
+        return boardService.find(boardIds[next(boardIds.length)]);
+    }
+
+    @Benchmark
+    public Collection<Board> boardAll() {
+        return boardService.all();
+    }
+
+    @Benchmark
+    public void boardDelete() {
+        final String id = boardService.create("board", "color").getId();
+        boardService.delete(id);
+    }
+
+    @Benchmark
+    public BoardStatistics boardStatistics() {
+        return boardService.statistics(boardIds[next(boardIds.length)]);
+    }
+
+    @Benchmark
+    public Todo todoCreate() {
+        return todoService.create(boardIds[next(boardIds.length)], "todo");
+    }
+
+    @Benchmark
+    public Todo todoFind() {
+        return todoService.find(todoIds[next(todoIds.length)]);
+    }
+
+    @Benchmark
+    public Collection<Todo> todoAll() {
+        return todoService.all();
+    }
+
+    @Benchmark
+    public Collection<Todo> todoAllOfBoard() {
+        return todoService.all(boardIds[next(boardIds.length)]);
+    }
+
+    @Benchmark
+    public Collection<TodoSummary> todoSummariesOfBoard() {
+        return todoService.summaries(boardIds[next(boardIds.length)]);
+    }
+
+    @Benchmark
+    public void todoDelete() {
+        final String boardId = boardIds[next(boardIds.length)];
+        final Integer id = todoService.create(boardId, "todo").getId();
+        todoService.delete(boardId, id);
+    }
+
+    @Benchmark
+    public Item itemCreate() {
+        return itemService.create(todoIds[next(todoIds.length)], "item", "description", deadline);
+    }
+
+    @Benchmark
+    public Item itemFind() {
+        return itemService.find(itemIds[next(itemIds.length)]);
+    }
+
+    @Benchmark
+    public Collection<Item> itemAll() {
+        return itemService.all();
+    }
+
+    @Benchmark
+    public void itemDelete() {
+        final Integer todoId = todoIds[next(todoIds.length)];
+        final Integer id = itemService.create(todoId, "item", "description", deadline).getId();
+        itemService.delete(todoId, id);
+    }
+}
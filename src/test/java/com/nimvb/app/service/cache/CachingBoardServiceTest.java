@@ -0,0 +1,71 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.BoardService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class CachingBoardServiceTest {
+
+    @Mock
+    private BoardService delegate;
+    private ServiceCache cache;
+    private BoardService boardService;
+
+    @BeforeEach
+    void init() {
+        cache = new ServiceCache(100, Duration.ofMinutes(5));
+        boardService = new CachingBoardService(delegate, cache);
+    }
+
+    @Test
+    void Should_ReadTheDelegateOnce_When_TheBoardIsLookedUpTwice() {
+        Mockito.when(delegate.lookup("b1")).thenReturn(Optional.of(new Board() {{
+            setId("b1");
+            setName("n1");
+        }}));
+
+        Assertions.assertThat(boardService.lookup("b1")).map(Board::getName).contains("n1");
+        Assertions.assertThat(boardService.find("b1").getName()).isEqualTo("n1");
+
+        Mockito.verify(delegate, Mockito.times(1)).lookup("b1");
+        Mockito.verify(delegate, Mockito.never()).find("b1");
+    }
+
+    @Test
+    void Should_NotCacheTheLoadedBoard_When_ItIsInvalidatedWhileItIsLoaded() {
+        Mockito.when(delegate.find("b1")).thenAnswer(invocation -> {
+            cache.getBoards().invalidate("b1");
+            return new Board();
+        });
+
+        boardService.find("b1");
+
+        Assertions.assertThat(cache.getBoards().get("b1")).isNull();
+    }
+
+    @Test
+    void Should_EvictTheBoardAndTheCachedTodosAndItems_When_TheBoardIsDeleted() {
+        cache.getBoards().put("b1", new Board());
+        cache.getTodos().put(1, new Todo());
+        cache.getItems().put(2, new Item());
+
+        boardService.delete("b1");
+
+        Mockito.verify(delegate).delete("b1");
+        Assertions.assertThat(cache.getBoards().get("b1")).isNull();
+        Assertions.assertThat(cache.getTodos().size()).isZero();
+        Assertions.assertThat(cache.getItems().size()).isZero();
+    }
+}
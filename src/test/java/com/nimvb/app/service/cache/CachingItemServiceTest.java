@@ -0,0 +1,89 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.index.ParentIndex;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class CachingItemServiceTest {
+
+    @Mock
+    private ItemService delegate;
+    private ServiceCache cache;
+    private ParentIndex parentIndex;
+    private ItemService itemService;
+
+    @BeforeEach
+    void init() {
+        cache = new ServiceCache(100, Duration.ofMinutes(5));
+        parentIndex = new ParentIndex();
+        itemService = new CachingItemService(delegate, cache, parentIndex);
+    }
+
+    @Test
+    void Should_ReadTheDelegateOnce_When_TheItemIsFoundTwice() {
+        final Item item = new Item() {{
+            setId(1);
+            setTitle("i1");
+        }};
+        Mockito.when(delegate.find(1)).thenReturn(item);
+
+        Assertions.assertThat(itemService.find(1).getTitle()).isEqualTo("i1");
+        Assertions.assertThat(itemService.find(1).getTitle()).isEqualTo("i1");
+        Assertions.assertThat(itemService.lookup(1)).map(Item::getTitle).contains("i1");
+
+        Mockito.verify(delegate, Mockito.times(1)).find(1);
+        Mockito.verify(delegate, Mockito.never()).lookup(1);
+        Assertions.assertThat(cache.getItems().stats().getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void Should_NotCacheTheLoadedItem_When_ItIsInvalidatedWhileItIsLoaded() {
+        final Item stale = new Item() {{
+            setId(1);
+            setTitle("before");
+        }};
+        Mockito.when(delegate.lookup(1)).thenAnswer(invocation -> {
+            // a concurrent update completes after the stale item is read
+            cache.getItems().invalidate(1);
+            return Optional.of(stale);
+        });
+
+        Assertions.assertThat(itemService.lookup(1)).map(Item::getTitle).contains("before");
+
+        Assertions.assertThat(cache.getItems().get(1)).isNull();
+    }
+
+    @Test
+    void Should_EvictTheItemItsTodoAndOnlyItsBoard_When_TheItemIsUpdated() {
+        final Todo todo = new Todo() {{
+            setId(10);
+        }};
+        parentIndex.onTodoCreated("b1", todo);
+        cache.getItems().put(1, new Item());
+        cache.getTodos().put(10, todo);
+        cache.getBoards().put("b1", new Board());
+        cache.getBoards().put("b2", new Board());
+        Mockito.when(delegate.findTodoId(1)).thenReturn(10);
+        Mockito.when(delegate.update(1, "i1", null, null)).thenReturn(new Item());
+
+        itemService.update(1, "i1", null, null);
+
+        Assertions.assertThat(cache.getItems().get(1)).isNull();
+        Assertions.assertThat(cache.getTodos().get(10)).isNull();
+        Assertions.assertThat(cache.getBoards().get("b1")).isNull();
+        Assertions.assertThat(cache.getBoards().get("b2")).isNotNull();
+    }
+}
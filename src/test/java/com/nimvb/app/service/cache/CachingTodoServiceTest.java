@@ -0,0 +1,78 @@
+package com.nimvb.app.service.cache;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.TodoService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+@ExtendWith(MockitoExtension.class)
+class CachingTodoServiceTest {
+
+    @Mock
+    private TodoService delegate;
+    private ServiceCache cache;
+    private TodoService todoService;
+
+    @BeforeEach
+    void init() {
+        cache = new ServiceCache(100, Duration.ofMinutes(5));
+        todoService = new CachingTodoService(delegate, cache);
+    }
+
+    @Test
+    void Should_ReadTheDelegateOnce_When_TheTodoIsFoundTwice() {
+        Mockito.when(delegate.find(1)).thenReturn(new Todo() {{
+            setId(1);
+            setName("t1");
+        }});
+
+        Assertions.assertThat(todoService.find(1).getName()).isEqualTo("t1");
+        Assertions.assertThat(todoService.find(1).getName()).isEqualTo("t1");
+
+        Mockito.verify(delegate, Mockito.times(1)).find(1);
+    }
+
+    @Test
+    void Should_NotCacheTheLoadedTodo_When_ItIsInvalidatedWhileItIsLoaded() {
+        Mockito.when(delegate.find(1)).thenAnswer(invocation -> {
+            cache.getTodos().invalidate(1);
+            return new Todo();
+        });
+
+        todoService.find(1);
+
+        Assertions.assertThat(cache.getTodos().get(1)).isNull();
+    }
+
+    @Test
+    void Should_EvictTheTodoItsItemsAndItsBoard_When_TheTodoIsDeleted() {
+        final Item item = new Item() {{
+            setId(2);
+        }};
+        final Todo todo = new Todo() {{
+            setId(1);
+            getItems().add(item);
+        }};
+        cache.getTodos().put(1, todo);
+        cache.getItems().put(2, item);
+        cache.getItems().put(3, new Item());
+        cache.getBoards().put("b1", new Board());
+
+        todoService.delete("b1", 1);
+
+        Mockito.verify(delegate).delete("b1", 1);
+        Assertions.assertThat(cache.getTodos().get(1)).isNull();
+        Assertions.assertThat(cache.getItems().get(2)).isNull();
+        Assertions.assertThat(cache.getItems().get(3)).isNotNull();
+        Assertions.assertThat(cache.getBoards().get("b1")).isNull();
+    }
+}
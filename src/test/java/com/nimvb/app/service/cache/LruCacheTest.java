@@ -0,0 +1,55 @@
+package com.nimvb.app.service.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LruCacheTest {
+
+    @Test
+    void Should_EvictTheLeastRecentlyUsedEntry_When_TheMaximumSizeIsExceeded() {
+        final LruCache<Integer, String> cache = new LruCache<>(2, Duration.ofMinutes(1));
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+
+        Assertions.assertThat(cache.get(1)).isEqualTo("one");
+        Assertions.assertThat(cache.get(2)).isNull();
+        Assertions.assertThat(cache.get(3)).isEqualTo("three");
+        Assertions.assertThat(cache.stats()).isEqualTo(new CacheStats(3, 1, 1, 2));
+    }
+
+    @Test
+    void Should_DropTheEntry_When_ItsTimeToLiveIsElapsed() {
+        final AtomicLong clock = new AtomicLong();
+        final LruCache<Integer, String> cache = new LruCache<>(2, Duration.ofNanos(10), clock::get);
+        cache.put(1, "one");
+        clock.addAndGet(5);
+        Assertions.assertThat(cache.get(1)).isEqualTo("one");
+        clock.addAndGet(5);
+        Assertions.assertThat(cache.get(1)).isNull();
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+        Assertions.assertThat(cache.stats().getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void Should_ThrowAnException_When_TheConfigurationIsNotPositive() {
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new LruCache<>(0, Duration.ofMinutes(1)));
+        Assertions.assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new LruCache<>(1, Duration.ZERO));
+    }
+
+    @Test
+    void Should_NotPutTheValue_When_TheCacheWasInvalidatedSinceTheGenerationWasRead() {
+        final LruCache<Integer, String> cache = new LruCache<>(2, Duration.ofMinutes(1));
+        final long generation = cache.generation();
+        cache.invalidate(2);
+
+        Assertions.assertThat(cache.putIfCurrent(1, "one", generation)).isFalse();
+        Assertions.assertThat(cache.get(1)).isNull();
+        Assertions.assertThat(cache.putIfCurrent(1, "one", cache.generation())).isTrue();
+        Assertions.assertThat(cache.get(1)).isEqualTo("one");
+    }
+}
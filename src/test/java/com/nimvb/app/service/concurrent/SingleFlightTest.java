@@ -0,0 +1,101 @@
+package com.nimvb.app.service.concurrent;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+
+    @Test
+    void Should_ShareOneLoad_When_TheSameKeyIsLoadedConcurrently() throws Exception {
+        final SingleFlight<String, List<String>> flight = new SingleFlight<>();
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<List<String>> leader = executor.submit(() -> flight.get("k", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return List.of("v");
+            }, ArrayList::new));
+            while (flight.calls() == 0) {
+                Thread.onSpinWait();
+            }
+            final List<Future<List<String>>> waiters = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiters.add(executor.submit(() -> flight.get("k", () -> {
+                    loads.incrementAndGet();
+                    return List.of("other");
+                }, ArrayList::new)));
+            }
+            while (flight.coalesced() < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Assertions.assertThat(leader.get(5, TimeUnit.SECONDS)).containsExactly("v");
+            for (Future<List<String>> waiter : waiters) {
+                Assertions.assertThat(waiter.get(5, TimeUnit.SECONDS)).containsExactly("v").isInstanceOf(ArrayList.class);
+            }
+            Assertions.assertThat(loads.get()).isEqualTo(1);
+            Assertions.assertThat(flight.calls()).isEqualTo(4);
+            Assertions.assertThat(flight.coalesced()).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void Should_LoadAgain_When_ThePreviousLoadHasCompleted() {
+        final SingleFlight<String, String> flight = new SingleFlight<>();
+        final AtomicInteger loads = new AtomicInteger();
+
+        flight.get("k", () -> "v" + loads.incrementAndGet(), value -> value);
+
+        Assertions.assertThat(flight.get("k", () -> "v" + loads.incrementAndGet(), value -> value)).isEqualTo("v2");
+        Assertions.assertThat(flight.coalesced()).isZero();
+    }
+
+    @Test
+    void Should_ThrowTheExceptionOfTheLoad_When_TheWaitedLoadFails() throws Exception {
+        final SingleFlight<String, String> flight = new SingleFlight<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> leader = executor.submit(() -> flight.get("k", () -> {
+                await(release);
+                throw new IllegalStateException("failed");
+            }, value -> value));
+            while (flight.calls() == 0) {
+                Thread.onSpinWait();
+            }
+            final Future<String> waiter = executor.submit(() -> flight.get("k", () -> "v", value -> value));
+            while (flight.coalesced() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Assertions.assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            Assertions.assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            Assertions.assertThat(flight.get("k", () -> "v", value -> value)).isEqualTo("v");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.nimvb.app.service.event;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+class ChangeLogTest {
+
+    @Test
+    void Should_DeliverTheEventsToEverySubscriberAtItsOwnPace_When_SeveralSubscribersReadTheLog() {
+        var changeLog = new ChangeLog(16);
+        var board = new Board() {{
+            setId("b1");
+            setName("b1");
+        }};
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        var item = new Item() {{
+            setId(2);
+            setTitle("i1");
+        }};
+        final ChangeLog.Subscription first = changeLog.subscribe();
+        final ChangeLog.Subscription second = changeLog.subscribe();
+
+        changeLog.onBoardCreated(board);
+        changeLog.onTodoCreated("b1", todo);
+        changeLog.onItemCreated(1, item);
+        changeLog.onItemDeleted(1, item);
+
+        final ChangeBatch batch = first.poll(3);
+
+        Assertions.assertThat(batch.getEvents()).extracting(ChangeEvent::getType)
+                .containsExactly(ChangeType.BOARD_CREATED, ChangeType.TODO_CREATED, ChangeType.ITEM_CREATED);
+        Assertions.assertThat(batch.getEvents().get(2).getParentId()).isEqualTo(1);
+        Assertions.assertThat(batch.getEvents().get(2).getEntityId()).isEqualTo(2);
+        Assertions.assertThat(first.poll(10).getEvents()).extracting(ChangeEvent::getType).containsExactly(ChangeType.ITEM_DELETED);
+        Assertions.assertThat(first.poll(10).isEmpty()).isTrue();
+        Assertions.assertThat(second.poll(10).getEvents()).extracting(ChangeEvent::getSequence).containsExactly(0L, 1L, 2L, 3L);
+        Assertions.assertThat(changeLog.read(2, 10).getEvents()).extracting(ChangeEvent::getType)
+                .containsExactly(ChangeType.ITEM_CREATED, ChangeType.ITEM_DELETED);
+    }
+
+    @Test
+    void Should_ReportTheMissedEvents_When_TheSubscriberFallsBehindByMoreThanTheCapacity() {
+        var changeLog = new ChangeLog(4);
+        final ChangeLog.Subscription subscription = changeLog.subscribe(0);
+
+        for (int i = 0; i < 10; i++) {
+            final int id = i;
+            changeLog.onTodoCreated("b1", new Todo() {{
+                setId(id);
+            }});
+        }
+
+        final ChangeBatch batch = subscription.poll(100);
+
+        Assertions.assertThat(batch.getMissed()).isEqualTo(6);
+        Assertions.assertThat(batch.getEvents()).extracting(ChangeEvent::getEntityId).containsExactly(6, 7, 8, 9);
+        Assertions.assertThat(subscription.cursor()).isEqualTo(10);
+    }
+
+    @Test
+    void Should_PublishEveryEventOnce_When_TheEventsArePublishedConcurrently() throws Exception {
+        var changeLog = new ChangeLog(1 << 14);
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final Future<?>[] futures = new Future<?>[8];
+            for (int t = 0; t < futures.length; t++) {
+                final int thread = t;
+                futures[t] = pool.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        final int id = thread * 1000 + i;
+                        changeLog.onItemCreated(thread, new Item() {{
+                            setId(id);
+                        }});
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        final ChangeBatch batch = changeLog.read(0, 1 << 14);
+
+        Assertions.assertThat(batch.getMissed()).isZero();
+        Assertions.assertThat(batch.getEvents()).hasSize(8000);
+        final Set<Object> ids = batch.getEvents().stream().map(ChangeEvent::getEntityId).collect(Collectors.toCollection(HashSet::new));
+        Assertions.assertThat(ids).hasSize(8000);
+    }
+
+    @Test
+    void Should_NotPublishTheExistingEntities_When_TheyAreReplayedAtStartup() {
+        var changeLog = new ChangeLog(16);
+        var board = new Board() {{
+            setId("b1");
+            setName("b1");
+        }};
+
+        EntityListeners.of(changeLog).replayed().boardCreated(board);
+
+        Assertions.assertThat(changeLog.head()).isZero();
+
+        EntityListeners.of(changeLog).boardCreated(board);
+
+        Assertions.assertThat(changeLog.head()).isEqualTo(1);
+    }
+}
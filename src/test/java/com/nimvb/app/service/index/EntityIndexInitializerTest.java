@@ -0,0 +1,133 @@
+package com.nimvb.app.service.index;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.service.cache.ServiceCache;
+import com.nimvb.app.service.event.EntityListeners;
+import com.nimvb.app.service.model.WarmUpReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class EntityIndexInitializerTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Test
+    void Should_IndexAndCacheEveryEntity_When_TheServiceIsWarmedUpInParallel() {
+        final long deadline = Instant.now().plusSeconds(3600).toEpochMilli();
+        final List<Board> boards = new ArrayList<>();
+        int ids = 0;
+        for (int b = 0; b < 8; b++) {
+            final Board board = new Board();
+            board.setId("b" + b);
+            for (int t = 0; t < 40; t++) {
+                final Todo todo = new Todo();
+                todo.setId(++ids);
+                for (int i = 0; i < 5; i++) {
+                    final Item item = new Item();
+                    item.setId(++ids);
+                    item.setDeadlineTimestamp(deadline);
+                    todo.getItems().add(item);
+                }
+                board.getTodos().add(todo);
+            }
+            boards.add(board);
+        }
+        Mockito.when(boardRepository.findAll()).thenReturn(boards);
+        final ParentIndex parentIndex = new ParentIndex();
+        final DeadlineIndex deadlineIndex = new DeadlineIndex();
+        final BoardStatisticsIndex statisticsIndex = new BoardStatisticsIndex();
+        final ServiceCache cache = new ServiceCache(10000, Duration.ofMinutes(5));
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final EntityIndexInitializer initializer = new EntityIndexInitializer(boardRepository,
+                EntityListeners.of(parentIndex, deadlineIndex, statisticsIndex), cache, registry, 4);
+
+        Assertions.assertThat(initializer.report()).isNull();
+
+        initializer.initialize();
+
+        final WarmUpReport report = initializer.report();
+        Assertions.assertThat(report.getBoards()).isEqualTo(8);
+        Assertions.assertThat(report.getTodos()).isEqualTo(320);
+        Assertions.assertThat(report.getItems()).isEqualTo(1600);
+        Assertions.assertThat(report.getPhases()).containsOnlyKeys(EntityIndexInitializer.LOAD, EntityIndexInitializer.INDEX, EntityIndexInitializer.CACHE);
+        Assertions.assertThat(deadlineIndex.size()).isEqualTo(1600);
+        Assertions.assertThat(parentIndex.boardOf(boards.get(7).getTodos().get(39).getId())).contains("b7");
+        Assertions.assertThat(statisticsIndex.statistics("b3", Instant.now().toEpochMilli()).orElseThrow().getItems()).isEqualTo(200);
+        Assertions.assertThat(cache.getItems().size()).isEqualTo(1600);
+        Assertions.assertThat(registry.get("todo.service.warm-up").tag("phase", EntityIndexInitializer.INDEX).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void Should_FillTheCachesOnlyUpToTheirSize_When_ThereAreMoreEntitiesThanTheyCanKeep() {
+        final List<Board> boards = new ArrayList<>();
+        int ids = 0;
+        for (int b = 0; b < 4; b++) {
+            final Board board = new Board();
+            board.setId("b" + b);
+            for (int t = 0; t < 4; t++) {
+                final Todo todo = new Todo();
+                todo.setId(++ids);
+                for (int i = 0; i < 4; i++) {
+                    final Item item = new Item();
+                    item.setId(++ids);
+                    todo.getItems().add(item);
+                }
+                board.getTodos().add(todo);
+            }
+            boards.add(board);
+        }
+        Mockito.when(boardRepository.findAll()).thenReturn(boards);
+        final ServiceCache cache = new ServiceCache(10, Duration.ofMinutes(5));
+        final EntityIndexInitializer initializer = new EntityIndexInitializer(boardRepository,
+                EntityListeners.of(), cache, new SimpleMeterRegistry(), 1);
+
+        initializer.initialize();
+
+        Assertions.assertThat(cache.getBoards().size()).isEqualTo(4);
+        Assertions.assertThat(cache.getTodos().size()).isEqualTo(10);
+        Assertions.assertThat(cache.getItems().size()).isEqualTo(10);
+        Assertions.assertThat(cache.getItems().stats().getEvictions()).isZero();
+        Assertions.assertThat(cache.getItems().get(boards.get(0).getTodos().get(0).getItems().get(0).getId())).isNotNull();
+    }
+
+    @Test
+    void Should_NotCacheTheLoadedEntities_When_TheCacheIsInvalidatedWhileTheyAreLoaded() {
+        final ServiceCache cache = new ServiceCache(10, Duration.ofMinutes(5));
+        final Board board = new Board();
+        board.setId("b1");
+        final Todo todo = new Todo();
+        todo.setId(1);
+        final Item item = new Item();
+        item.setId(2);
+        todo.getItems().add(item);
+        board.getTodos().add(todo);
+        Mockito.when(boardRepository.findAll()).thenAnswer(invocation -> {
+            // an item is updated while the boards are loaded
+            cache.getItems().invalidate(2);
+            return List.of(board);
+        });
+        final EntityIndexInitializer initializer = new EntityIndexInitializer(boardRepository,
+                EntityListeners.of(), cache, new SimpleMeterRegistry(), 1);
+
+        initializer.initialize();
+
+        Assertions.assertThat(cache.getBoards().get("b1")).isNotNull();
+        Assertions.assertThat(cache.getTodos().get(1)).isNotNull();
+        Assertions.assertThat(cache.getItems().get(2)).isNull();
+    }
+}
@@ -0,0 +1,35 @@
+package com.nimvb.app.service.index;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class IntIntMapTest {
+
+    @Test
+    void Should_BehaveLikeAHashMap_When_EntriesAreRandomlyPutAndRemoved() {
+        final IntIntMap map = new IntIntMap();
+        final Map<Integer, Integer> expected = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // a small key range makes the probe sequences collide and the removals shift entries
+            final int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                final Integer removed = expected.remove(key);
+                Assertions.assertThat(map.remove(key, Integer.MIN_VALUE)).isEqualTo(removed == null ? Integer.MIN_VALUE : removed);
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        Assertions.assertThat(map.size()).isEqualTo(expected.size());
+        for (int key = -1_000; key < 1_000; key++) {
+            Assertions.assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+            Assertions.assertThat(map.get(key, Integer.MIN_VALUE)).isEqualTo(expected.getOrDefault(key, Integer.MIN_VALUE));
+        }
+    }
+}
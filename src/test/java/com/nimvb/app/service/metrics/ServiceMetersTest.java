@@ -0,0 +1,71 @@
+package com.nimvb.app.service.metrics;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.service.cache.ServiceCache;
+import com.nimvb.app.service.index.BoardStatisticsIndex;
+import com.nimvb.app.service.index.ParentIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class ServiceMetersTest {
+
+    private SimpleMeterRegistry registry;
+    private ParentIndex parentIndex;
+    private BoardStatisticsIndex statisticsIndex;
+    private ServiceCache cache;
+
+    @BeforeEach
+    void init() {
+        registry = new SimpleMeterRegistry();
+        parentIndex = new ParentIndex();
+        statisticsIndex = new BoardStatisticsIndex();
+        cache = new ServiceCache(1, Duration.ofMinutes(1));
+        new ServiceMeters(registry, parentIndex, statisticsIndex, cache);
+    }
+
+    @Test
+    void Should_CountTheEntitiesOfTheIndexes_When_NothingIsListed() {
+        final Board board = new Board() {{
+            setId("b1");
+        }};
+        final Todo todo = new Todo() {{
+            setId(1);
+        }};
+        final Item item = new Item() {{
+            setId(2);
+        }};
+
+        statisticsIndex.onBoardCreated(board);
+        parentIndex.onTodoCreated("b1", todo);
+        parentIndex.onItemCreated(1, item);
+
+        Assertions.assertThat(registry.get("todo.service.entities").tag("entity", "board").gauge().value()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.entities").tag("entity", "todo").gauge().value()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.entities").tag("entity", "item").gauge().value()).isEqualTo(1);
+
+        parentIndex.onItemDeleted(1, item);
+
+        Assertions.assertThat(registry.get("todo.service.entities").tag("entity", "item").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    void Should_CountTheHitsMissesAndEvictionsOfEveryCache_When_TheCacheIsUsed() {
+        cache.getBoards().get("b1");
+        cache.getBoards().put("b1", new Board());
+        cache.getBoards().get("b1");
+        cache.getBoards().put("b2", new Board());
+
+        Assertions.assertThat(registry.get("todo.service.cache.hits").tag("cache", "boards").functionCounter().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.cache.misses").tag("cache", "boards").functionCounter().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.cache.evictions").tag("cache", "boards").functionCounter().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.cache.size").tag("cache", "boards").gauge().value()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.cache.hits").tag("cache", "todos").functionCounter().count()).isEqualTo(0);
+        Assertions.assertThat(registry.get("todo.service.cache.misses").tag("cache", "items").functionCounter().count()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.nimvb.app.service.metrics;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
+import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.BoardService;
+import com.nimvb.app.service.BoardServiceImpl;
+import com.nimvb.app.service.concurrent.ServiceFlights;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListeners;
+import com.nimvb.app.service.exception.EntityNotFoundException;
+import com.nimvb.app.service.index.BoardStatisticsIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private TodoRepository todoRepository;
+    @Mock
+    private ItemRepository itemRepository;
+
+    private SimpleMeterRegistry registry;
+    private ServiceMetricsAspect aspect;
+    private BoardService boardService;
+
+    @BeforeEach
+    void init() {
+        registry = new SimpleMeterRegistry();
+        aspect = new ServiceMetricsAspect(registry, true);
+        final AspectJProxyFactory factory = new AspectJProxyFactory(new BoardServiceImpl(boardRepository, todoRepository, itemRepository, EntityListeners.of(), new BoardStatisticsIndex(), new ServiceFlights(), new ServiceLocks()));
+        factory.addAspect(aspect);
+        boardService = factory.getProxy();
+    }
+
+    @Test
+    void Should_TimeTheOperationByOutcome_When_TheServiceIsCalled() {
+        Mockito.when(boardRepository.findById(ArgumentMatchers.any())).thenReturn(Optional.empty());
+
+        Assertions.assertThatThrownBy(() -> boardService.find("b1")).isInstanceOf(EntityNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> boardService.find("")).isInstanceOf(IllegalArgumentException.class);
+
+        Assertions.assertThat(registry.get("todo.service.operation").tag("operation", "board.find").tag("outcome", "EntityNotFoundException").timer().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.operation").tag("operation", "board.find").tag("outcome", "IllegalArgumentException").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void Should_RecordTheSizeOfTheResult_When_AllIsCalled() {
+        Mockito.when(boardRepository.findAll()).thenReturn(List.of(new Board(), new Board()));
+
+        boardService.all();
+
+        Assertions.assertThat(registry.get("todo.service.operation").tag("operation", "board.all").tag("outcome", "success").timer().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("todo.service.result.size").tag("operation", "board.all").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void Should_NotRecordAnything_When_TheInstrumentationIsDisabled() {
+        Mockito.when(boardRepository.findAll()).thenReturn(List.of());
+        final AspectJProxyFactory factory = new AspectJProxyFactory(new BoardServiceImpl(boardRepository, todoRepository, itemRepository, EntityListeners.of(), new BoardStatisticsIndex(), new ServiceFlights(), new ServiceLocks()));
+        factory.addAspect(new ServiceMetricsAspect(registry, false));
+        final BoardService boardService = factory.getProxy();
+
+        boardService.all();
+
+        Assertions.assertThat(registry.getMeters()).isEmpty();
+    }
+}
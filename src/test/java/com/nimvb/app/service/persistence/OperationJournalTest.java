@@ -0,0 +1,250 @@
+package com.nimvb.app.service.persistence;
+
+import com.nimvb.app.database.model.Board;
+import com.nimvb.app.database.model.Item;
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.BoardRepository;
+import com.nimvb.app.repository.ItemRepository;
+import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.ItemService;
+import com.nimvb.app.service.ItemServiceImpl;
+import com.nimvb.app.service.async.ParallelListing;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import com.nimvb.app.service.event.EntityListener;
+import com.nimvb.app.service.event.EntityListeners;
+import com.nimvb.app.service.index.DeadlineIndex;
+import com.nimvb.app.service.index.ItemColumns;
+import com.nimvb.app.service.index.ParentIndex;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@ExtendWith(MockitoExtension.class)
+class OperationJournalTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private TodoRepository todoRepository;
+    @Mock
+    private ItemRepository itemRepository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void Should_RestoreTheEntities_When_TheJournalIsReplayedOnStartup() throws Exception {
+        final OperationJournal journal = open(1 << 16);
+        var board = new Board() {{
+            setId("b1");
+            setName("b1");
+            setColor("c1");
+        }};
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        var kept = new Item() {{
+            setId(1);
+            setTitle("i1");
+            setDescription("d1");
+        }};
+        var removed = new Item() {{
+            setId(2);
+            setTitle("i2");
+        }};
+        journal.onBoardCreated(board);
+        journal.onTodoCreated("b1", todo);
+        journal.onItemCreated(1, kept);
+        journal.onItemCreated(1, removed);
+        kept.setCompleted(true);
+        journal.onItemUpdated(1, kept, kept);
+        journal.onItemDeleted(1, removed);
+        journal.destroy();
+
+        final List<Board> restored = restore(1 << 16);
+
+        Assertions.assertThat(restored).hasSize(1);
+        Assertions.assertThat(restored.get(0).getColor()).isEqualTo("c1");
+        Assertions.assertThat(restored.get(0).getTodos()).hasSize(1);
+        final List<Item> items = restored.get(0).getTodos().get(0).getItems();
+        Assertions.assertThat(items).extracting(Item::getTitle).containsExactly("i1");
+        Assertions.assertThat(items.get(0).isCompleted()).isTrue();
+        Assertions.assertThat(restored.get(0).getTodos().get(0).getId()).isEqualTo(1);
+        Assertions.assertThat(items.get(0).getId()).isEqualTo(1);
+        Mockito.verify(todoRepository, Mockito.times(1)).save(ArgumentMatchers.any());
+        Mockito.verify(itemRepository, Mockito.times(1)).save(ArgumentMatchers.any());
+        Mockito.verify(todoRepository, Mockito.never()).persist(ArgumentMatchers.any());
+        Mockito.verify(itemRepository, Mockito.never()).persist(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_FoldTheSealedSegmentsIntoTheSnapshot_When_TheJournalIsCompacted() throws Exception {
+        final OperationJournal journal = open(1024);
+        journal.onBoardCreated(new Board() {{
+            setId("b1");
+            setName("b1");
+        }});
+        journal.onTodoCreated("b1", new Todo() {{
+            setId(1);
+            setName("t1");
+        }});
+        for (int i = 0; i < 200; i++) {
+            final int id = i;
+            final Item item = new Item() {{
+                setId(id);
+                setTitle("item " + id);
+            }};
+            journal.onItemCreated(1, item);
+            if (id % 2 == 0) {
+                journal.onItemDeleted(1, item);
+            }
+        }
+
+        Assertions.assertThat(journal.segments()).isGreaterThan(1);
+
+        journal.compact();
+
+        Assertions.assertThat(journal.segments()).isEqualTo(1);
+        journal.destroy();
+        final List<Board> restored = restore(1024);
+        Assertions.assertThat(restored.get(0).getTodos().get(0).getItems()).hasSize(100);
+        try (var files = Files.list(directory)) {
+            Assertions.assertThat(files.filter(path -> path.getFileName().toString().startsWith("snapshot-"))).hasSize(1);
+        }
+    }
+
+    @Test
+    void Should_ReplayTheMutationsInTheOrderInWhichTheyAreApplied_When_AnItemIsChangedWhileItIsCreated() throws Exception {
+        final OperationJournal journal = open(1 << 16);
+        final Todo todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        final Map<Integer, Item> items = new ConcurrentHashMap<>();
+        final AtomicInteger ids = new AtomicInteger();
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item item = invocation.getArgument(0);
+            if (item.getId() == null) {
+                item.setId(ids.incrementAndGet());
+            }
+            items.put(item.getId(), item);
+            return item;
+        });
+        Mockito.when(itemRepository.fetchById(ArgumentMatchers.any())).thenAnswer(invocation -> Optional.ofNullable(items.get(invocation.<Integer>getArgument(0))));
+        final ParentIndex parentIndex = new ParentIndex();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicReference<ItemService> service = new AtomicReference<>();
+        // the first item is completed and the second one is deleted from another thread while it is being created
+        final EntityListener interleaving = new EntityListener() {
+            @Override
+            public void onItemCreated(Integer todoId, Item item) {
+                final Future<?> change = executor.submit(() -> {
+                    if (item.getId() == 1) {
+                        service.get().complete(item.getId());
+                    } else {
+                        service.get().delete(item.getId());
+                    }
+                });
+                try {
+                    change.get(200, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // the change waits for the lock of the todo, as it should
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        service.set(new ItemServiceImpl(todoRepository, itemRepository, parentIndex, new DeadlineIndex(), new ItemColumns(),
+                EntityListeners.of(parentIndex, interleaving, journal), new ServiceLocks(), ParentWriter.direct(boardRepository, todoRepository),
+                ParallelListing.sequential()));
+        journal.onBoardCreated(new Board() {{
+            setId("b1");
+            setName("b1");
+        }});
+        journal.onTodoCreated("b1", todo);
+        parentIndex.onTodoCreated("b1", todo);
+
+        service.get().create(1, "i1", "d1", Instant.now().plusSeconds(60));
+        service.get().create(1, "i2", "d2", Instant.now().plusSeconds(60));
+        executor.shutdown();
+        Assertions.assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        journal.destroy();
+
+        final List<Item> restored = restore(1 << 16).get(0).getTodos().get(0).getItems();
+
+        Assertions.assertThat(restored).extracting(Item::getTitle).containsExactly("i1");
+        Assertions.assertThat(restored.get(0).isCompleted()).isTrue();
+    }
+
+    @Test
+    void Should_FailTheMutationAndUndoItsWrites_When_TheJournalCannotRecordIt() throws Exception {
+        final OperationJournal journal = open(1 << 16);
+        final Todo todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+        Mockito.when(itemRepository.persist(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Item item = invocation.getArgument(0);
+            item.setId(1);
+            return item;
+        });
+        final ParentIndex parentIndex = new ParentIndex();
+        final ItemService service = new ItemServiceImpl(todoRepository, itemRepository, parentIndex, new DeadlineIndex(), new ItemColumns(),
+                EntityListeners.of(journal, parentIndex), new ServiceLocks(), new ParentWriter(boardRepository, todoRepository, null, true),
+                ParallelListing.sequential());
+        journal.destroy();
+
+        Assertions.assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> service.create(1, "i1", "d1", Instant.now().plusSeconds(60)));
+
+        Assertions.assertThat(todo.getItems()).isEmpty();
+        Assertions.assertThat(parentIndex.todoOf(1, -1)).isEqualTo(-1);
+        Mockito.verify(itemRepository).deleteById(1);
+    }
+
+    private OperationJournal open(int segmentSize) {
+        final OperationJournal journal = new OperationJournal(boardRepository, todoRepository, itemRepository, true,
+                directory.toString(), segmentSize, Duration.ofMillis(1), Long.MAX_VALUE);
+        journal.afterPropertiesSet();
+        return journal;
+    }
+
+    private List<Board> restore(int segmentSize) throws InterruptedException {
+        Mockito.reset(boardRepository, todoRepository, itemRepository);
+        final List<Board> boards = new ArrayList<>();
+        Mockito.when(boardRepository.findAll()).thenReturn(List.of());
+        Mockito.lenient().when(boardRepository.save(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            boards.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        Mockito.lenient().when(todoRepository.save(ArgumentMatchers.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.lenient().when(itemRepository.save(ArgumentMatchers.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        open(segmentSize).destroy();
+        return boards;
+    }
+}
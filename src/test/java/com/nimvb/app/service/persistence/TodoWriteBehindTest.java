@@ -0,0 +1,101 @@
+package com.nimvb.app.service.persistence;
+
+import com.nimvb.app.database.model.Todo;
+import com.nimvb.app.repository.TodoRepository;
+import com.nimvb.app.service.concurrent.ServiceLocks;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@ExtendWith(MockitoExtension.class)
+class TodoWriteBehindTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private final List<Integer> flushed = new CopyOnWriteArrayList<>();
+    private TodoWriteBehind writeBehind;
+
+    @BeforeEach
+    void init() {
+        final WriteBehindHook hook = new WriteBehindHook() {
+            @Override
+            public void onFlushed(Collection<Integer> todoIds) {
+                flushed.addAll(todoIds);
+            }
+        };
+        writeBehind = new TodoWriteBehind(todoRepository, new ServiceLocks(), List.of(hook), true, 16, 1000, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void destroy() throws InterruptedException {
+        writeBehind.destroy();
+    }
+
+    @Test
+    void Should_WriteATodoOnce_When_ItIsStagedRepeatedlyBeforeTheFlush() throws InterruptedException {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        Mockito.when(todoRepository.fetchById(1)).thenReturn(Optional.of(todo));
+
+        for (int i = 0; i < 10; i++) {
+            writeBehind.stage(todo);
+        }
+
+        Assertions.assertThat(writeBehind.pending()).isEqualTo(1);
+        Mockito.verify(todoRepository, Mockito.never()).persist(ArgumentMatchers.any());
+
+        writeBehind.destroy();
+
+        Assertions.assertThat(writeBehind.pending()).isZero();
+        Assertions.assertThat(flushed).containsExactly(1);
+        Mockito.verify(todoRepository, Mockito.times(1)).persist(todo);
+    }
+
+    @Test
+    void Should_NotWriteTheTodo_When_ItIsDeletedWhileItIsStaged() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+        var removed = new Todo() {{
+            setId(2);
+            setName("t2");
+        }};
+        Mockito.when(todoRepository.fetchById(2)).thenReturn(Optional.empty());
+
+        writeBehind.stage(todo);
+        writeBehind.stage(removed);
+        writeBehind.onTodoDeleted("b1", todo);
+        writeBehind.flush();
+
+        Assertions.assertThat(flushed).isEmpty();
+        Mockito.verify(todoRepository, Mockito.never()).persist(ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_WriteImmediately_When_WriteBehindIsDisabled() {
+        var todo = new Todo() {{
+            setId(1);
+            setName("t1");
+        }};
+
+        TodoWriteBehind.direct(todoRepository).stage(todo);
+
+        Mockito.verify(todoRepository, Mockito.times(1)).persist(todo);
+    }
+}